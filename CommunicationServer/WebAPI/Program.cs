@@ -1,3 +1,4 @@
+using System.Net;
 using System.Text;
 using Application.ClientInterfaces;
 using Application.GameRoomHandlers;
@@ -43,11 +44,16 @@ builder.Services.AddAuthentication(JwtBearerDefaults.AuthenticationScheme).AddJw
 });
 builder.Services.AddSignalR();
 builder.Services.AddScoped<IUserLogic, UserLogic>();
+// The database server gzips large responses
 builder.Services.AddHttpClient<IUserService, UserHttpClient>(client =>
-    client.BaseAddress = new Uri("http://localhost:8080"));
+        client.BaseAddress = new Uri("http://localhost:8080"))
+    .ConfigurePrimaryHttpMessageHandler(() => new HttpClientHandler
+        { AutomaticDecompression = DecompressionMethods.GZip | DecompressionMethods.Deflate });
 
 builder.Services.AddHttpClient<IGameService, GameHttpClient>(client =>
-    client.BaseAddress = new Uri("http://localhost:8080"));
+        client.BaseAddress = new Uri("http://localhost:8080"))
+    .ConfigurePrimaryHttpMessageHandler(() => new HttpClientHandler
+        { AutomaticDecompression = DecompressionMethods.GZip | DecompressionMethods.Deflate });
 
 builder.Services.AddSingleton<IUserIdProvider, NameUserIdProvider>();
 
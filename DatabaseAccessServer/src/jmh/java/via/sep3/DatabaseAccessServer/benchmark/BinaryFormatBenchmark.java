@@ -0,0 +1,119 @@
+package via.sep3.DatabaseAccessServer.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Time to write and read a page of games in JSON, Smile and CBOR, with and without gzip.
+ * Payload sizes for the same data are printed by running this class as a main:
+ * mvn -Pjmh test-compile exec:exec -Djmh.main=via.sep3.DatabaseAccessServer.benchmark.BinaryFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Game> games;
+    private List<GameSummaryDto> summaries;
+    private byte[] gamesPayload;
+    private ObjectReader gamesReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = mapper(format);
+        Random random = new Random(42);
+        games = Fixtures.games(size, Fixtures.users(size), random);
+        summaries = Fixtures.summaries(games);
+        gamesPayload = write(objectMapper, games, gzip);
+        gamesReader = objectMapper.readerForListOf(Game.class);
+    }
+
+    @Benchmark
+    public byte[] writeGames() throws IOException {
+        return write(objectMapper, games, gzip);
+    }
+
+    @Benchmark
+    public byte[] writeGameSummaries() throws IOException {
+        return write(objectMapper, summaries, gzip);
+    }
+
+    @Benchmark
+    public List<Game> readGames() throws IOException {
+        InputStream in = new ByteArrayInputStream(gamesPayload);
+        return gamesReader.readValue(gzip ? new GZIPInputStream(in) : in);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(42);
+        List<Game> games = Fixtures.games(1000, Fixtures.users(1000), random);
+        List<GameSummaryDto> summaries = Fixtures.summaries(games);
+        List<User> users = Fixtures.users(1000);
+        System.out.printf("%-6s %22s %22s %22s%n", "", "1000 games", "1000 game summaries", "1000 users");
+        for (String format : new String[]{"json", "smile", "cbor"}) {
+            ObjectMapper objectMapper = mapper(format);
+            System.out.printf("%-6s", format);
+            for (List<?> payload : List.of(games, summaries, users)) {
+                System.out.printf(" %9d B gzip %7d B", write(objectMapper, payload, false).length, write(objectMapper, payload, true).length);
+            }
+            System.out.println();
+        }
+    }
+
+    // Same settings as the mappers Spring Boot and BinaryJsonConfig set up
+    private static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToEnable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                .modulesToInstall(new ParameterNamesModule())
+                .build();
+    }
+
+    private static byte[] write(ObjectMapper objectMapper, Object value, boolean gzip) throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
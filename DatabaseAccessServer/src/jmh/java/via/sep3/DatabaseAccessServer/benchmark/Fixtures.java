@@ -0,0 +1,76 @@
+package via.sep3.DatabaseAccessServer.benchmark;
+
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class Fixtures {
+    private static final String[] SYLLABLES = {"ka", "ro", "mi", "tal", "an", "ve", "lu", "sen", "do", "ri", "char", "bel", "os", "ne", "fi", "gar"};
+    private static final int[][] TIME_CONTROLS = {{60, 0}, {180, 2}, {300, 0}, {300, 3}, {600, 5}, {900, 10}};
+
+    private Fixtures() {
+    }
+
+    static String username(int i) {
+        StringBuilder name = new StringBuilder();
+        int rest = i;
+        do {
+            name.append(SYLLABLES[rest % SYLLABLES.length]);
+            rest /= SYLLABLES.length;
+        } while (rest > 0);
+        return name.append(i % 100).toString();
+    }
+
+    static String email(int i) {
+        return username(i) + "@students.via.dk";
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new User(email(i), username(i), "password" + i, "user"));
+        }
+        return users;
+    }
+
+    static List<GameCreationDto> gameCreationDtos(int count, int users, Random random) {
+        List<GameCreationDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(gameCreationDto(users, random));
+        }
+        return dtos;
+    }
+
+    static GameCreationDto gameCreationDto(int users, Random random) {
+        String white = username(random.nextInt(users));
+        String black = username(random.nextInt(users));
+        int[] timeControl = TIME_CONTROLS[random.nextInt(TIME_CONTROLS.length)];
+        GameType gameType = GameType.values()[random.nextInt(GameType.values().length)];
+        GameOutcome outcome = GameOutcome.values()[random.nextInt(GameOutcome.values().length)];
+        return new GameCreationDto(white, white, black, gameType, timeControl[0], timeControl[1], outcome);
+    }
+
+    static List<Game> games(int count, List<User> users, Random random) {
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GameCreationDto dto = gameCreationDto(users.size(), random);
+            User white = users.get(random.nextInt(users.size()));
+            User black = users.get(random.nextInt(users.size()));
+            Game game = new Game(white, white, black, dto.getGameType(), dto.getTimeControlDurationSeconds(), dto.getTimeControlIncrementSeconds(), dto.getGameOutcome());
+            game.setGameId(i + 1);
+            games.add(game);
+        }
+        return games;
+    }
+
+    static List<GameSummaryDto> summaries(List<Game> games) {
+        return games.stream().map(GameSummaryDto::from).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package via.sep3.DatabaseAccessServer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import via.sep3.DatabaseAccessServer.DatabaseAccessServerApplication;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserLogic;
+import via.sep3.DatabaseAccessServer.domain.User;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Puts the same closed-loop HTTP load on the MVC and the reactive profile and prints throughput
+ * and latency percentiles. Both run against the same embedded H2 setup with the production pool sizes.
+ * Of these scenarios only the reactive GET /games/{id} reads through R2DBC; the reactive POST and player
+ * listing run the same JPA logic as MVC, on BlockingCalls.
+ * <p>
+ * Arguments: [requests per scenario] [concurrent requests], defaults 20000 and 256.
+ */
+public class LoadComparison {
+    private static final int USERS = 200;
+    private static final int GAMES = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        for (String profile : new String[]{"default", "reactive"}) {
+            run(profile, requests, concurrency);
+        }
+        System.exit(0);
+    }
+
+    private static void run(String profile, int requests, int concurrency) throws Exception {
+        String database = "load_" + profile;
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DatabaseAccessServerApplication.class)
+                .profiles(profile)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + database,
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        try {
+            UserLogic userLogic = context.getBean(UserLogic.class);
+            GameLogic gameLogic = context.getBean(GameLogic.class);
+            for (User user : Fixtures.users(USERS)) {
+                userLogic.create(user);
+            }
+            Random random = new Random(42);
+            for (int seeded = 0; seeded < GAMES; seeded += 1000) {
+                gameLogic.createAll(Fixtures.gameCreationDtos(1000, USERS, random));
+            }
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            ObjectMapper objectMapper = new ObjectMapper();
+            IntFunction<HttpRequest> createGame = i -> {
+                try {
+                    return HttpRequest.newBuilder(URI.create(base + "/games"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Fixtures.gameCreationDto(USERS, ThreadLocalRandom.current()))))
+                            .build();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+            IntFunction<HttpRequest> getGame = i -> HttpRequest.newBuilder(URI.create(base + "/games/" + (1 + ThreadLocalRandom.current().nextInt(GAMES)))).build();
+            IntFunction<HttpRequest> getPlayerGames = i -> HttpRequest.newBuilder(URI.create(base + "/games?limit=20&order=desc&player=" + Fixtures.username(ThreadLocalRandom.current().nextInt(USERS)))).build();
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            for (String scenario : new String[]{"POST /games", "GET /games/{id}", "GET /games?player"}) {
+                IntFunction<HttpRequest> request = switch (scenario) {
+                    case "POST /games" -> createGame;
+                    case "GET /games/{id}" -> getGame;
+                    default -> getPlayerGames;
+                };
+                load(client, request, requests / 5, concurrency);
+                Result result = load(client, request, requests, concurrency);
+                System.out.printf("%-8s %-18s %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  p99.9 %7.2f ms  errors %d%n",
+                        profile, scenario, result.throughput(), result.percentile(0.5), result.percentile(0.99), result.percentile(0.999), result.errors());
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result load(HttpClient client, IntFunction<HttpRequest> request, int requests, int concurrency) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            CompletableFuture<HttpResponse<Void>> response = client.sendAsync(request.apply(i), HttpResponse.BodyHandlers.discarding());
+            response.whenComplete((r, e) -> {
+                latencies[index] = System.nanoTime() - sent;
+                if (e != null || r.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(latencies, requests * 1e9 / elapsed, errors.get());
+    }
+
+    private record Result(long[] sortedLatencies, double throughput, int errors) {
+        double percentile(double p) {
+            return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1)] / 1e6;
+        }
+    }
+}
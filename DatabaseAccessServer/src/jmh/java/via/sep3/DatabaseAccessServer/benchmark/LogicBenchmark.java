@@ -0,0 +1,109 @@
+package via.sep3.DatabaseAccessServer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import via.sep3.DatabaseAccessServer.DatabaseAccessServerApplication;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserLoginDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserSearchResultDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the logic classes against an embedded H2 database seeded with {@code users} users and {@code games} games.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LogicBenchmark {
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param("2000")
+    private int users;
+
+    @Param("100000")
+    private int games;
+
+    private ConfigurableApplicationContext context;
+    private GameLogic gameLogic;
+    private UserLogic userLogic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DatabaseAccessServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximumPoolSize=4",
+                        "--replica.datasource.hikari.maximumPoolSize=4",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        gameLogic = context.getBean(GameLogic.class);
+        userLogic = context.getBean(UserLogic.class);
+
+        for (User user : Fixtures.users(users)) {
+            userLogic.create(user);
+        }
+        Random random = new Random(42);
+        for (int seeded = 0; seeded < games; seeded += SEED_BATCH_SIZE) {
+            gameLogic.createAll(Fixtures.gameCreationDtos(Math.min(SEED_BATCH_SIZE, games - seeded), users, random));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int randomUser() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+
+    @Benchmark
+    public Game createGame() {
+        GameCreationDto dto = Fixtures.gameCreationDto(users, ThreadLocalRandom.current());
+        return gameLogic.create(dto);
+    }
+
+    @Benchmark
+    public Iterable<GameSummaryDto> getFirstPage() {
+        return gameLogic.getAll(Map.of("limit", "100"));
+    }
+
+    @Benchmark
+    public Iterable<GameSummaryDto> getPageAfterRandomGame() {
+        int after = ThreadLocalRandom.current().nextInt(games);
+        return gameLogic.getAll(Map.of("after", String.valueOf(after), "limit", "100"));
+    }
+
+    @Benchmark
+    public Iterable<GameSummaryDto> getGamesOfPlayer() {
+        return gameLogic.getAll(Map.of("player", Fixtures.username(randomUser()), "limit", "50", "order", "desc"));
+    }
+
+    @Benchmark
+    public User login() {
+        int user = randomUser();
+        return userLogic.login(new UserLoginDto(Fixtures.email(user), "password" + user));
+    }
+
+    @Benchmark
+    public List<UserSearchResultDto> searchUsers() {
+        return userLogic.search(Fixtures.username(randomUser()).substring(0, 3), 10);
+    }
+}
@@ -0,0 +1,186 @@
+package via.sep3.DatabaseAccessServer.benchmark;
+
+import via.sep3.DatabaseAccessServer.application.Logic.MatchmakingPool;
+import via.sep3.DatabaseAccessServer.domain.enums.MatchmakingStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lets players arrive at a {@link MatchmakingPool} with the production settings from several
+ * threads at a fixed total rate while a sweeper runs like in the server. Prints the latency of
+ * enqueue, cancel and sweep, how deep the pool got and how many players were paired, and checks
+ * that nobody was paired twice.
+ * <p>
+ * Most players pick one of a dozen common time controls with normally distributed ratings, one in
+ * ten picks an unusual one and mostly waits, which keeps thousands of players queued.
+ * Arguments: [players] [threads] [arrivals per second], defaults 50000, 8 and 10000.
+ */
+public class MatchmakingLoadTest {
+    private static final MatchmakingPool.TimeControl[] COMMON = {
+            new MatchmakingPool.TimeControl(60, 0), new MatchmakingPool.TimeControl(120, 1),
+            new MatchmakingPool.TimeControl(180, 0), new MatchmakingPool.TimeControl(180, 2),
+            new MatchmakingPool.TimeControl(300, 0), new MatchmakingPool.TimeControl(300, 3),
+            new MatchmakingPool.TimeControl(600, 0), new MatchmakingPool.TimeControl(600, 5),
+            new MatchmakingPool.TimeControl(900, 10), new MatchmakingPool.TimeControl(1800, 0),
+            new MatchmakingPool.TimeControl(1800, 20), new MatchmakingPool.TimeControl(3600, 30)};
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final double MAX_WINDOW = 400;
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int arrivalsPerSecond = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        MatchmakingPool pool = new MatchmakingPool(100, 50, 10, MAX_WINDOW, TimeUnit.MINUTES.toNanos(1), TimeUnit.MINUTES.toNanos(1), System::nanoTime);
+
+        AtomicBoolean arriving = new AtomicBoolean(true);
+        List<Long> sweepNanos = new ArrayList<>();
+        AtomicInteger peakWaiting = new AtomicInteger();
+        Thread sweeper = new Thread(() -> {
+            while (arriving.get()) {
+                long start = System.nanoTime();
+                pool.sweep();
+                sweepNanos.add(System.nanoTime() - start);
+                peakWaiting.accumulateAndGet(pool.waiting(), Math::max);
+                long sleep = SWEEP_INTERVAL_NANOS - (System.nanoTime() - start);
+                if (sleep > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(sleep);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "sweeper");
+        sweeper.start();
+
+        // Every thread keeps its own arrival schedule, together they make the total rate
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) * threads / arrivalsPerSecond;
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> arrive(pool, thread, players / threads, intervalNanos)));
+        }
+        List<Result> results = new ArrayList<>();
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        arriving.set(false);
+        sweeper.join();
+
+        long[] enqueue = concat(results.stream().map(Result::enqueueNanos).toList());
+        long[] cancel = concat(results.stream().map(Result::cancelNanos).toList());
+        long[] sweep = sweepNanos.stream().mapToLong(Long::longValue).toArray();
+        print("enqueue", enqueue);
+        print("cancel", cancel);
+        print("sweep", sweep);
+
+        List<MatchmakingPool.Ticket> tickets = new ArrayList<>();
+        results.forEach(result -> tickets.addAll(result.tickets()));
+        long matched = tickets.stream().filter(ticket -> ticket.getStatus() == MatchmakingStatus.MATCHED).count();
+        long cancelled = tickets.stream().filter(ticket -> ticket.getStatus() == MatchmakingStatus.CANCELLED).count();
+        long matchedOnArrival = results.stream().mapToLong(Result::matchedOnArrival).sum();
+        System.out.printf("players %d, peak waiting %d, matched %d (%d on arrival), cancelled %d, still waiting %d%n",
+                tickets.size(), peakWaiting.get(), matched, matchedOnArrival, cancelled, pool.waiting());
+        check(tickets);
+    }
+
+    private record Result(List<MatchmakingPool.Ticket> tickets, long[] enqueueNanos, long[] cancelNanos, long matchedOnArrival) {
+    }
+
+    private static Result arrive(MatchmakingPool pool, int thread, int players, long intervalNanos) throws InterruptedException {
+        Random random = new Random(thread);
+        List<MatchmakingPool.Ticket> tickets = new ArrayList<>(players);
+        List<MatchmakingPool.Ticket> waiting = new ArrayList<>();
+        long[] enqueueNanos = new long[players];
+        long[] cancelNanos = new long[players];
+        int cancels = 0;
+        long matchedOnArrival = 0;
+        long next = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+            next += intervalNanos;
+
+            MatchmakingPool.TimeControl timeControl = random.nextInt(10) == 0
+                    ? new MatchmakingPool.TimeControl(60 * (1 + random.nextInt(60)), random.nextInt(30))
+                    : COMMON[random.nextInt(COMMON.length)];
+            double rating = Math.max(100, 1500 + random.nextGaussian() * 350);
+            long start = System.nanoTime();
+            MatchmakingPool.Ticket ticket = pool.enqueue(thread + "-" + i, rating, timeControl);
+            enqueueNanos[i] = System.nanoTime() - start;
+            tickets.add(ticket);
+            if (ticket.getStatus() == MatchmakingStatus.MATCHED) {
+                matchedOnArrival++;
+            } else {
+                waiting.add(ticket);
+            }
+
+            // Some of the players who are still waiting give up
+            if (i % 20 == 0 && !waiting.isEmpty()) {
+                MatchmakingPool.Ticket givingUp = waiting.remove(random.nextInt(waiting.size()));
+                start = System.nanoTime();
+                pool.cancel(givingUp);
+                cancelNanos[cancels++] = System.nanoTime() - start;
+            }
+        }
+        return new Result(tickets, enqueueNanos, Arrays.copyOf(cancelNanos, cancels), matchedOnArrival);
+    }
+
+    private static void check(List<MatchmakingPool.Ticket> tickets) {
+        Set<String> paired = new HashSet<>();
+        Map<String, Double> ratings = new HashMap<>();
+        tickets.forEach(ticket -> ratings.put(ticket.getUsername(), ticket.getRating()));
+        long matched = 0;
+        for (MatchmakingPool.Ticket ticket : tickets) {
+            MatchmakingPool.Pairing pairing = ticket.getPairing();
+            if (ticket.getStatus() != MatchmakingStatus.MATCHED) {
+                continue;
+            }
+            matched++;
+            paired.add(pairing.playerWhite());
+            paired.add(pairing.playerBlack());
+            if (!pairing.timeControl().equals(ticket.getTimeControl())
+                    || Math.abs(ratings.get(pairing.playerWhite()) - ratings.get(pairing.playerBlack())) > MAX_WINDOW) {
+                throw new IllegalStateException("Invalid pairing " + pairing);
+            }
+        }
+        if (paired.size() != matched) {
+            throw new IllegalStateException(matched + " matched tickets but " + paired.size() + " paired players");
+        }
+        System.out.println("Every player was paired at most once, within the time control and the maximum window");
+    }
+
+    private static long[] concat(List<long[]> arrays) {
+        return arrays.stream().flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static void print(String operation, long[] nanos) {
+        if (nanos.length == 0) {
+            return;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-8s %7d calls  p50 %8.1f us  p99 %8.1f us  p99.9 %8.1f us  max %9.1f us%n", operation, nanos.length,
+                percentile(nanos, 0.5), percentile(nanos, 0.99), percentile(nanos, 0.999), nanos[nanos.length - 1] / 1000.0);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1000.0;
+    }
+}
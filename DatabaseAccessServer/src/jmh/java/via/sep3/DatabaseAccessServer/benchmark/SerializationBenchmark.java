@@ -0,0 +1,96 @@
+package via.sep3.DatabaseAccessServer.benchmark;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Game> games;
+    private List<GameSummaryDto> summaries;
+    private List<User> users;
+    private List<GameCreationDto> gameCreationDtos;
+    private byte[] gamesJson;
+    private byte[] usersJson;
+    private byte[] gameCreationDtosJson;
+    private ObjectReader gamesReader;
+    private ObjectReader usersReader;
+    private ObjectReader gameCreationDtosReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same settings as the mapper Spring Boot configures from application.properties
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                .modulesToInstall(new ParameterNamesModule())
+                .build();
+        Random random = new Random(42);
+        users = Fixtures.users(size);
+        games = Fixtures.games(size, users, random);
+        summaries = Fixtures.summaries(games);
+        gameCreationDtos = Fixtures.gameCreationDtos(size, size, random);
+
+        gamesJson = objectMapper.writeValueAsBytes(games);
+        usersJson = objectMapper.writeValueAsBytes(users);
+        gameCreationDtosJson = objectMapper.writeValueAsBytes(gameCreationDtos);
+        gamesReader = objectMapper.readerForListOf(Game.class);
+        usersReader = objectMapper.readerForListOf(User.class);
+        gameCreationDtosReader = objectMapper.readerForListOf(GameCreationDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeGames() throws IOException {
+        return objectMapper.writeValueAsBytes(games);
+    }
+
+    @Benchmark
+    public byte[] serializeGameSummaries() throws IOException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws IOException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeGameCreationDtos() throws IOException {
+        return objectMapper.writeValueAsBytes(gameCreationDtos);
+    }
+
+    @Benchmark
+    public List<Game> deserializeGames() throws IOException {
+        return gamesReader.readValue(gamesJson);
+    }
+
+    @Benchmark
+    public List<User> deserializeUsers() throws IOException {
+        return usersReader.readValue(usersJson);
+    }
+
+    @Benchmark
+    public List<GameCreationDto> deserializeGameCreationDtos() throws IOException {
+        return gameCreationDtosReader.readValue(gameCreationDtosJson);
+    }
+}
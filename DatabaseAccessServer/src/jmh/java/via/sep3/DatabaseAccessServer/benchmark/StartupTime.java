@@ -0,0 +1,162 @@
+package via.sep3.DatabaseAccessServer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Starts the packaged server in a new JVM a few times per startup mode and prints the time from
+ * launching it to the first successful {@code GET /games/{gameId}}. All runs use one H2 file
+ * database in PostgreSQL mode holding a single game, which a first run in the default mode creates.
+ * <p>
+ * Needs mvn package first, and mvn -Pcds package for the modes on plain jars.
+ * Arguments: [runs per mode], default 5.
+ */
+public class StartupTime {
+    private static final Path JAR = Path.of("target/DatabaseAccessServer-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_JAR = Path.of("target/cds/application.jar");
+    private static final Path CDS_ARCHIVE = Path.of("target/cds/application.jsa");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private static final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private static Path log;
+
+    private record Mode(String name, List<String> jvmArguments, Path jar, String profile) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        if (!Files.exists(JAR)) {
+            throw new IllegalStateException(JAR + " is missing, run mvn package first");
+        }
+        Path directory = Files.createTempDirectory("startup");
+        log = directory.resolve("server.log");
+        String database = "jdbc:h2:file:" + directory.resolve("games").toAbsolutePath() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("ddl-auto=update", List.of(), JAR, "default"));
+        modes.add(new Mode("fast-start", List.of(), JAR, "fast-start"));
+        if (Files.exists(CDS_JAR) && Files.exists(CDS_ARCHIVE)) {
+            modes.add(new Mode("fast-start, plain jars", List.of(), CDS_JAR, "fast-start"));
+            modes.add(new Mode("fast-start, plain jars, AppCDS", List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Xlog:cds=error"), CDS_JAR, "fast-start"));
+        } else {
+            System.out.println("No " + CDS_ARCHIVE + ", run mvn -Pcds package for the AppCDS modes");
+        }
+
+        int gameId = seed(modes.get(0), database);
+        for (Mode mode : modes) {
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstGame(mode, database, gameId);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-32s min %6d ms  median %6d ms  max %6d ms%n", mode.name(), millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    private static int seed(Mode mode, String database) throws Exception {
+        int port = freePort();
+        Process server = start(mode, database, port);
+        try {
+            String base = "http://localhost:" + port;
+            await(server, base + "/games/0", response -> true);
+            for (String username : new String[]{"white", "black"}) {
+                post(base + "/users", "{\"email\":\"" + username + "@startup\",\"username\":\"" + username + "\",\"password\":\"p\",\"role\":\"user\"}");
+            }
+            String game = post(base + "/games", "{\"creator\":\"white\",\"playerWhite\":\"white\",\"playerBlack\":\"black\",\"gameType\":\"FRIEND\","
+                    + "\"timeControlDurationSeconds\":60,\"timeControlIncrementSeconds\":0,\"gameOutcome\":\"DRAW\"}");
+            return new ObjectMapper().readTree(game).get("gameId").asInt();
+        } finally {
+            stop(server);
+        }
+    }
+
+    private static long timeToFirstGame(Mode mode, String database, int gameId) throws Exception {
+        int port = freePort();
+        long start = System.nanoTime();
+        Process server = start(mode, database, port);
+        try {
+            await(server, "http://localhost:" + port + "/games/" + gameId, response -> response.statusCode() == 200 && !response.body().isEmpty());
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            stop(server);
+        }
+    }
+
+    private static Process start(Mode mode, String database, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArguments());
+        command.addAll(List.of("-jar", mode.jar().toString(),
+                "--spring.profiles.active=" + mode.profile(),
+                "--server.port=" + port,
+                "--grpc.server.port=0",
+                "--spring.datasource.url=" + database,
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile())).start();
+    }
+
+    // A game that is not found is answered with an empty 200
+    private static void await(Process server, String url, Predicate<HttpResponse<String>> success) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Server exited with " + server.exitValue() + ", see " + log);
+            }
+            try {
+                if (success.test(client.send(request, HttpResponse.BodyHandlers.ofString()))) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No answer from " + url + " within " + TIMEOUT + ", see " + log);
+    }
+
+    private static String post(String url, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("POST " + url + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    // The H2 file stays locked until the server is gone
+    private static void stop(Process server) throws InterruptedException {
+        server.destroy();
+        if (!server.waitFor(30, TimeUnit.SECONDS)) {
+            server.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Archived games in id order, a batch at a time, without the ones that are still in the games table.
+ * Those are left over from a {@link GameArchiver} run whose delete failed, and like the reads, the
+ * rebuilds take the table's copy so that no game is counted twice.
+ */
+final class ArchivedGameBatches {
+
+    private ArchivedGameBatches() {
+    }
+
+    static void forEach(GameArchive gameArchive, GameRepository gameRepository, int batchSize, Consumer<List<ArchivedGame>> action) {
+        try (Stream<ArchivedGame> archived = gameArchive.streamAll()) {
+            Iterator<ArchivedGame> games = archived.iterator();
+            while (games.hasNext()) {
+                List<ArchivedGame> batch = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize && games.hasNext(); i++) {
+                    batch.add(games.next());
+                }
+                Set<Integer> inTable = new HashSet<>(gameRepository.findGameIdsIn(batch.stream().map(ArchivedGame::gameId).toList()));
+                if (!inTable.isEmpty()) {
+                    batch.removeIf(game -> inTable.contains(game.gameId()));
+                }
+                action.accept(batch);
+            }
+        }
+    }
+}
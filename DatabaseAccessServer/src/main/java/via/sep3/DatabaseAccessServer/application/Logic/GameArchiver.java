@@ -0,0 +1,109 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves the games of every month before the last {@code games.archive.keep-months} from the games
+ * table into the {@link GameArchive}, so the table only holds recent games. Months are in UTC.
+ * <p>
+ * Each month is handled in its own transaction: its games are merged into the month's segment,
+ * which is on disk before they are deleted. If the delete fails the games are in both places
+ * until the next run, reads prefer the table in the meantime.
+ */
+@Component
+// Has to exist for its schedule to be registered, also with lazy initialization
+@Lazy(false)
+@ConditionalOnProperty(name = "games.archive.enabled", havingValue = "true")
+public class GameArchiver {
+    private static final Logger log = LoggerFactory.getLogger(GameArchiver.class);
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final GameRepository gameRepository;
+
+    private final GameArchive gameArchive;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int keepMonths;
+
+    public GameArchiver(GameRepository gameRepository, GameArchive gameArchive, PlatformTransactionManager transactionManager,
+                        @Value("${games.archive.keep-months}") int keepMonths) {
+        if (keepMonths < 1) {
+            throw new IllegalArgumentException("games.archive.keep-months must be at least 1");
+        }
+        this.gameRepository = gameRepository;
+        this.gameArchive = gameArchive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.keepMonths = keepMonths;
+    }
+
+    @Scheduled(cron = "${games.archive.cron}", zone = "UTC")
+    public void archiveOldMonths() {
+        archiveBefore(YearMonth.now(ZoneOffset.UTC).minusMonths(keepMonths - 1));
+    }
+
+    /**
+     * Archives all games played before the first day of the given month and returns how many were moved.
+     */
+    public int archiveBefore(YearMonth firstKeptMonth) {
+        Optional<Instant> oldest = gameRepository.findOldestPlayedAtBefore(start(firstKeptMonth));
+        if (oldest.isEmpty()) {
+            return 0;
+        }
+        int archived = 0;
+        for (YearMonth month = YearMonth.from(oldest.get().atZone(ZoneOffset.UTC)); month.isBefore(firstKeptMonth); month = month.plusMonths(1)) {
+            long start = System.nanoTime();
+            int games = archiveMonth(month);
+            if (games > 0) {
+                log.info("Archived {} games of {} in {} ms", games, month, (System.nanoTime() - start) / 1_000_000);
+            }
+            archived += games;
+        }
+        return archived;
+    }
+
+    private int archiveMonth(YearMonth month) {
+        Integer archived = transactionTemplate.execute(status -> {
+            List<ArchivedGame> games = gameRepository.findPlayedBetween(start(month), start(month.plusMonths(1)));
+            if (games.isEmpty()) {
+                return 0;
+            }
+            gameArchive.write(month, games);
+            List<Integer> gameIds = new ArrayList<>(DELETE_BATCH_SIZE);
+            for (ArchivedGame game : games) {
+                gameIds.add(game.gameId());
+                if (gameIds.size() == DELETE_BATCH_SIZE) {
+                    gameRepository.deleteByGameIdIn(gameIds);
+                    gameIds.clear();
+                }
+            }
+            if (!gameIds.isEmpty()) {
+                gameRepository.deleteByGameIdIn(gameIds);
+            }
+            return games.size();
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,154 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The most recently stored games in the order their transactions committed, for
+ * {@code GET /games/feed}. A bounded ring buffer: storing a game only overwrites the oldest slot
+ * and wakes the listeners, so a slow subscriber never holds up the writers. A subscriber reads
+ * through its own {@link Cursor} and falls behind once the games it has not read yet are
+ * overwritten.
+ */
+@Component
+public class GameFeed {
+    private final GameSummaryDto[] games;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this, the sequence number the next game gets
+    private long head;
+
+    public GameFeed(@Value("${games.feed.capacity:4096}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The feed capacity must be positive");
+        }
+        this.games = new GameSummaryDto[capacity];
+    }
+
+    /**
+     * Adds the games once the current transaction has committed, so that the feed never shows a
+     * game that was rolled back. The summaries are taken right away, while the players are loaded.
+     */
+    public void publish(Collection<Game> stored) {
+        if (stored.isEmpty()) {
+            return;
+        }
+        List<GameSummaryDto> summaries = new ArrayList<>(stored.size());
+        for (Game game : stored) {
+            summaries.add(GameSummaryDto.from(game));
+        }
+        AfterCommit.run(() -> append(summaries));
+    }
+
+    // Listeners run on the thread that stored the games and must not block
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * A cursor at the end of the feed, which only sees the games stored from now on.
+     */
+    public synchronized Cursor tail() {
+        return new Cursor(head);
+    }
+
+    /**
+     * A cursor right after the given game, empty when that game is not in the buffer (anymore).
+     */
+    public synchronized Optional<Cursor> resume(int afterGameId) {
+        for (long sequence = head - 1; sequence >= Math.max(0, head - games.length); sequence--) {
+            if (games[slot(sequence)].getGameId() == afterGameId) {
+                return Optional.of(new Cursor(sequence + 1));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void append(List<GameSummaryDto> summaries) {
+        synchronized (this) {
+            for (GameSummaryDto summary : summaries) {
+                games[slot(head++)] = summary;
+            }
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % games.length);
+    }
+
+    /**
+     * A position in the feed. Not thread-safe, a subscriber reads from one thread at a time.
+     */
+    public final class Cursor {
+        private long next;
+        private Set<Integer> skipped = Set.of();
+        private long skipUntil;
+        private boolean behind;
+
+        private Cursor(long next) {
+            this.next = next;
+        }
+
+        /**
+         * Leaves out the given games among those stored so far, for a subscriber that has already
+         * read them from the database.
+         */
+        public void skip(Set<Integer> gameIds) {
+            synchronized (GameFeed.this) {
+                skipped = gameIds;
+                skipUntil = head;
+            }
+        }
+
+        /**
+         * Returns up to max games after the cursor and moves past them. Returns nothing once the
+         * subscriber is behind, see {@link #isBehind}.
+         */
+        public List<GameSummaryDto> poll(int max) {
+            List<GameSummaryDto> polled = new ArrayList<>();
+            synchronized (GameFeed.this) {
+                if (head - next > games.length) {
+                    behind = true;
+                }
+                while (!behind && next < head && polled.size() < max) {
+                    GameSummaryDto game = games[slot(next)];
+                    if (next >= skipUntil || !skipped.contains(game.getGameId())) {
+                        polled.add(game);
+                    }
+                    next++;
+                }
+            }
+            return polled;
+        }
+
+        public boolean hasNext() {
+            synchronized (GameFeed.this) {
+                return !behind && next < head;
+            }
+        }
+
+        /**
+         * Whether games this cursor had not read yet were overwritten. The subscriber has to start
+         * over from the last game it got.
+         */
+        public boolean isBehind() {
+            return behind;
+        }
+    }
+}
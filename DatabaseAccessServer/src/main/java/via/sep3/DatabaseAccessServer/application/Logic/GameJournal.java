@@ -0,0 +1,256 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Write-behind journal for {@code POST /games}. A game is acknowledged once its record is in a
+ * memory-mapped file and forced to disk. A background thread then stores the records through
+ * {@link GameLogic#createAll} in batches and moves the checkpoint in the file header past them.
+ * Records still in the file at startup are stored again; their idempotency keys keep games that
+ * were already stored before a crash from being inserted twice.
+ * <p>
+ * Layout: a header holding the offset of the first record that is not stored yet, followed by
+ * records of [int length][int crc32][JSON of the GameCreationDto]. A zero length ends the records.
+ */
+@Component
+// Replays what is left in the journal at startup, also with lazy initialization
+@Lazy(false)
+@ConditionalOnProperty(name = "games.journal.enabled", havingValue = "true")
+public class GameJournal {
+    private static final Logger log = LoggerFactory.getLogger(GameJournal.class);
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int END_MARKER_SIZE = 4;
+
+    private final GameLogic gameLogic;
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration retryInterval;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Thread drainer;
+    private volatile boolean running;
+
+    // Guarded by this
+    private int drainedOffset;
+    private int writeOffset;
+    private final Set<String> pendingKeys = new HashSet<>();
+
+    public GameJournal(GameLogic gameLogic, ObjectMapper objectMapper,
+                       @Value("${games.journal.path:data/games.journal}") Path path,
+                       @Value("${games.journal.size:64MB}") DataSize size,
+                       @Value("${games.journal.batch-size:500}") int batchSize,
+                       @Value("${games.journal.retry-interval:5s}") Duration retryInterval) {
+        this.gameLogic = gameLogic;
+        this.objectMapper = objectMapper;
+        this.path = path;
+        this.capacity = Math.toIntExact(size.toBytes());
+        this.batchSize = batchSize;
+        this.retryInterval = retryInterval;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        synchronized (this) {
+            drainedOffset = Math.max(buffer.getInt(0), HEADER_SIZE);
+            List<GameCreationDto> pending = new ArrayList<>();
+            writeOffset = read(drainedOffset, Integer.MAX_VALUE, pending);
+            // Cuts off a record that was only partly written before a crash
+            buffer.putInt(writeOffset, 0);
+            for (GameCreationDto dto : pending) {
+                pendingKeys.add(dto.getIdempotencyKey());
+            }
+            if (!pending.isEmpty()) {
+                log.info("Replaying {} journaled games", pending.size());
+            }
+        }
+        running = true;
+        drainer = new Thread(this::drain, "game-journal");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        synchronized (this) {
+            notifyAll();
+        }
+        drainer.join();
+        channel.close();
+    }
+
+    /**
+     * Validates the game and appends it to the journal. Returns false when the journal is full,
+     * in which case the caller has to store the game itself.
+     */
+    public boolean append(GameCreationDto dto) {
+        gameLogic.validate(dto);
+        if (dto.getIdempotencyKey() == null) {
+            dto.setIdempotencyKey(UUID.randomUUID().toString());
+        }
+        // The game was played now, not when the drainer gets to it
+        if (dto.getPlayedAt() == null) {
+            dto.setPlayedAt(Instant.now());
+        }
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+
+        synchronized (this) {
+            if (pendingKeys.contains(dto.getIdempotencyKey())) {
+                return true;
+            }
+            if (writeOffset + recordSize + END_MARKER_SIZE > capacity) {
+                return false;
+            }
+            buffer.putInt(writeOffset + recordSize, 0);
+            buffer.put(writeOffset + RECORD_HEADER_SIZE, payload);
+            buffer.putInt(writeOffset + 4, (int) crc.getValue());
+            buffer.putInt(writeOffset, payload.length);
+            buffer.force(writeOffset, recordSize + END_MARKER_SIZE);
+            writeOffset += recordSize;
+            pendingKeys.add(dto.getIdempotencyKey());
+            notifyAll();
+        }
+        return true;
+    }
+
+    public synchronized int pendingGames() {
+        return pendingKeys.size();
+    }
+
+    private void drain() {
+        while (running) {
+            List<GameCreationDto> batch = new ArrayList<>();
+            int end;
+            synchronized (this) {
+                while (running && drainedOffset == writeOffset) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                end = read(drainedOffset, batchSize, batch);
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                store(batch);
+            } catch (RuntimeException e) {
+                log.warn("Could not store {} journaled games, retrying in {}", batch.size(), retryInterval, e);
+                long retryAt = System.nanoTime() + retryInterval.toNanos();
+                synchronized (this) {
+                    // Appends wake this thread up too, close() is the only thing that should cut the wait short
+                    for (long left = retryInterval.toMillis(); running && left > 0;
+                         left = (retryAt - System.nanoTime()) / 1_000_000) {
+                        try {
+                            wait(left);
+                        } catch (InterruptedException interrupted) {
+                            return;
+                        }
+                    }
+                }
+                continue;
+            }
+            checkpoint(end, batch);
+        }
+    }
+
+    private void store(List<GameCreationDto> batch) {
+        try {
+            gameLogic.createAll(batch);
+        } catch (IllegalArgumentException e) {
+            // Stores the rest of the batch so that one bad record does not block the journal
+            for (GameCreationDto dto : batch) {
+                try {
+                    gameLogic.create(dto);
+                } catch (IllegalArgumentException invalid) {
+                    log.error("Dropping journaled game {}: {}", dto.getIdempotencyKey(), invalid.getMessage());
+                }
+            }
+        }
+    }
+
+    private synchronized void checkpoint(int end, List<GameCreationDto> stored) {
+        drainedOffset = end;
+        for (GameCreationDto dto : stored) {
+            pendingKeys.remove(dto.getIdempotencyKey());
+        }
+        if (drainedOffset == writeOffset) {
+            // Everything is stored, so the next record can start at the beginning again
+            buffer.putInt(HEADER_SIZE, 0);
+            drainedOffset = writeOffset = HEADER_SIZE;
+        }
+        buffer.putInt(0, drainedOffset);
+        buffer.force(0, HEADER_SIZE + END_MARKER_SIZE);
+    }
+
+    // Reads up to max records starting at offset and returns the offset after the last one read.
+    private int read(int offset, int max, List<GameCreationDto> into) {
+        while (into.size() < max && offset + RECORD_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > capacity) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_SIZE, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            try {
+                into.add(objectMapper.readValue(payload, GameCreationDto.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+}
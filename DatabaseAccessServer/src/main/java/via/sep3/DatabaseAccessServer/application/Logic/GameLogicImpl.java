@@ -1,54 +1,412 @@
 package via.sep3.DatabaseAccessServer.application.Logic;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.PositionIndexLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
 import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameExportDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSearchDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
 import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.MoveCodec;
 import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.domain.enums.PlayerColor;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
 import via.sep3.DatabaseAccessServer.repository.GameRepository;
-import via.sep3.DatabaseAccessServer.repository.UserRepository;
 
 import javax.annotation.Resource;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
 public class GameLogicImpl implements GameLogic {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
     @Resource
     private final GameRepository gameRepository;
 
-    @Resource
-    private final UserRepository userRepository;
+    private final GameArchive gameArchive;
+
+    private final UserCache userCache;
+
+    private final UserStatsLogic userStatsLogic;
+
+    private final PositionIndexLogic positionIndexLogic;
+
+    private final GameFeed gameFeed;
 
-    public GameLogicImpl(GameRepository gameRepository, UserRepository userRepository) {
+    public GameLogicImpl(GameRepository gameRepository, GameArchive gameArchive, UserCache userCache, UserStatsLogic userStatsLogic, PositionIndexLogic positionIndexLogic, GameFeed gameFeed) {
         this.gameRepository = gameRepository;
-        this.userRepository = userRepository;
+        this.gameArchive = gameArchive;
+        this.userCache = userCache;
+        this.userStatsLogic = userStatsLogic;
+        this.positionIndexLogic = positionIndexLogic;
+        this.gameFeed = gameFeed;
     }
 
     @Override
+    @Transactional
     public Game create(GameCreationDto dto) {
-        User creator = userRepository.findByUsernameEquals(dto.getCreator()).orElseThrow(() -> new IllegalArgumentException("Creator does not exist."));
-        User playerBlack = userRepository.findByUsernameEquals(dto.getPlayerBlack()).orElseThrow(() -> new IllegalArgumentException("Player Black does not exist."));
-        User playerWhite = userRepository.findByUsernameEquals(dto.getPlayerWhite()).orElseThrow(() -> new IllegalArgumentException("Player White does not exist."));
-        Game game = new Game(creator, playerWhite, playerBlack, dto.getGameType(), dto.getTimeControlDurationSeconds(), dto.getTimeControlIncrementSeconds(), dto.getGameOutcome());
-        return gameRepository.save(game);
+        if (dto.getIdempotencyKey() != null) {
+            List<Game> existing = gameRepository.findByIdempotencyKeyIn(List.of(dto.getIdempotencyKey()));
+            if (!existing.isEmpty()) {
+                return existing.get(0);
+            }
+        }
+        Game game = gameRepository.save(toGame(dto));
+        userStatsLogic.record(List.of(game));
+        positionIndexLogic.record(List.of(game));
+        gameFeed.publish(List.of(game));
+        return game;
+    }
+
+    @Override
+    public void validate(GameCreationDto dto) {
+        toGame(dto);
     }
 
     @Override
-    public Iterable<Game> getAll(Map<String, String> allRequestParams) {
-        Iterable<Game> games;
-        if (!allRequestParams.containsKey("gameId")) {
-            games = gameRepository.findAll();
-        } else {
-            games = gameRepository.findByCreatorEquals(allRequestParams.get("creator"));
+    @Transactional
+    public List<GameSummaryDto> createAll(List<GameCreationDto> dtos) {
+        if (dtos.isEmpty()) {
+            return List.of();
         }
-        return games;
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " games can be created at once");
+        }
+        Set<String> usernames = new HashSet<>();
+        for (GameCreationDto dto : dtos) {
+            usernames.add(dto.getCreator());
+            usernames.add(dto.getPlayerWhite());
+            usernames.add(dto.getPlayerBlack());
+        }
+        Map<String, User> users = userCache.findByUsernames(usernames);
+        Map<String, Game> byIdempotencyKey = findByIdempotencyKeys(dtos);
+
+        List<Game> games = new ArrayList<>(dtos.size());
+        List<Game> newGames = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            GameCreationDto dto = dtos.get(i);
+            Game existing = dto.getIdempotencyKey() == null ? null : byIdempotencyKey.get(dto.getIdempotencyKey());
+            if (existing != null) {
+                games.add(existing);
+                continue;
+            }
+            User creator = users.get(dto.getCreator());
+            if (creator == null) {
+                throw new IllegalArgumentException("Game " + i + ": Creator does not exist.");
+            }
+            User playerBlack = users.get(dto.getPlayerBlack());
+            if (playerBlack == null) {
+                throw new IllegalArgumentException("Game " + i + ": Player Black does not exist.");
+            }
+            User playerWhite = users.get(dto.getPlayerWhite());
+            if (playerWhite == null) {
+                throw new IllegalArgumentException("Game " + i + ": Player White does not exist.");
+            }
+            Game game;
+            try {
+                game = toGame(dto, creator, playerWhite, playerBlack);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Game " + i + ": " + e.getMessage());
+            }
+            games.add(game);
+            newGames.add(game);
+            if (dto.getIdempotencyKey() != null) {
+                byIdempotencyKey.put(dto.getIdempotencyKey(), game);
+            }
+        }
+
+        gameRepository.saveAll(newGames);
+        userStatsLogic.record(newGames);
+        positionIndexLogic.record(newGames);
+        gameFeed.publish(newGames);
+        List<GameSummaryDto> created = new ArrayList<>(games.size());
+        for (Game game : games) {
+            created.add(GameSummaryDto.from(game));
+        }
+        return created;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Iterable<GameSummaryDto> getAll(Map<String, String> allRequestParams) {
+        Pageable limit = Paging.limit(allRequestParams);
+        Optional<GameSearchDto> search = toSearch(allRequestParams);
+        if (search.isEmpty()) {
+            return List.of();
+        }
+        return withArchived(search.get(), limit, gameRepository.search(search.get(), limit), this::toSummary, GameSummaryDto::getGameId);
     }
 
     @Override
+    public void validateSearch(Map<String, String> allRequestParams) {
+        parseSearch(allRequestParams);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Map<String, String> allRequestParams, Consumer<GameSummaryDto> action) {
+        Optional<GameSearchDto> search = toSearch(allRequestParams);
+        if (search.isEmpty()) {
+            return;
+        }
+        try (Stream<GameSummaryDto> games = gameRepository.streamSearch(search.get());
+             Stream<GameSummaryDto> archived = gameArchive.search(search.get(), null).map(this::toSummary)) {
+            merge(games, archived, GameSummaryDto::getGameId, search.get().isDescending()).forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Iterable<GameExportDto> getAllForExport(Map<String, String> allRequestParams) {
+        Pageable limit = Paging.limit(allRequestParams);
+        Optional<GameSearchDto> search = toSearch(allRequestParams);
+        if (search.isEmpty()) {
+            return List.of();
+        }
+        return withArchived(search.get(), limit, gameRepository.searchForExport(search.get(), limit), this::toExport, GameExportDto::getGameId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllForExport(Map<String, String> allRequestParams, Consumer<GameExportDto> action) {
+        Optional<GameSearchDto> search = toSearch(allRequestParams);
+        if (search.isEmpty()) {
+            return;
+        }
+        try (Stream<GameExportDto> games = gameRepository.streamSearchForExport(search.get());
+             Stream<GameExportDto> archived = gameArchive.search(search.get(), null).map(this::toExport)) {
+            merge(games, archived, GameExportDto::getGameId, search.get().isDescending()).forEach(action);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Game> getByGameId(int gameId) {
         Optional<Game> game;
         game = gameRepository.findByGameId(gameId);
+        if (game.isPresent()) {
+            return game;
+        }
+        return gameArchive.findByGameId(gameId).map(archived -> archived.toGame(
+                findUser(archived.creator()), findUser(archived.playerWhite()), findUser(archived.playerBlack())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<GameMovesDto> getMoves(int gameId) {
+        return gameRepository.findMovesByGameId(gameId)
+                .or(() -> gameArchive.findByGameId(gameId).map(archived -> new GameMovesDto(archived.gameId(), archived.moves(), archived.moveClocks())));
+    }
+
+    private Game toGame(GameCreationDto dto) {
+        User creator = userCache.findByUsername(dto.getCreator()).orElseThrow(() -> new IllegalArgumentException("Creator does not exist."));
+        User playerBlack = userCache.findByUsername(dto.getPlayerBlack()).orElseThrow(() -> new IllegalArgumentException("Player Black does not exist."));
+        User playerWhite = userCache.findByUsername(dto.getPlayerWhite()).orElseThrow(() -> new IllegalArgumentException("Player White does not exist."));
+        return toGame(dto, creator, playerWhite, playerBlack);
+    }
+
+    private Map<String, Game> findByIdempotencyKeys(List<GameCreationDto> dtos) {
+        Set<String> keys = new HashSet<>();
+        for (GameCreationDto dto : dtos) {
+            if (dto.getIdempotencyKey() != null) {
+                keys.add(dto.getIdempotencyKey());
+            }
+        }
+        Map<String, Game> games = new HashMap<>();
+        if (!keys.isEmpty()) {
+            for (Game game : gameRepository.findByIdempotencyKeyIn(keys)) {
+                games.put(game.getIdempotencyKey(), game);
+            }
+        }
+        return games;
+    }
+
+    private static Game toGame(GameCreationDto dto, User creator, User playerWhite, User playerBlack) {
+        if (dto.getIdempotencyKey() != null && dto.getIdempotencyKey().length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key can be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        Game game = new Game(creator, playerWhite, playerBlack, dto.getGameType(), dto.getTimeControlDurationSeconds(), dto.getTimeControlIncrementSeconds(), dto.getGameOutcome());
+        game.setIdempotencyKey(dto.getIdempotencyKey());
+        // The database and the archive keep microseconds
+        game.setPlayedAt((dto.getPlayedAt() == null ? Instant.now() : dto.getPlayedAt()).truncatedTo(ChronoUnit.MICROS));
+        if (dto.getMoves() != null) {
+            game.setMoves(MoveCodec.encodeMoves(dto.getMoves()));
+        }
+        if (dto.getMoveClocksMillis() != null) {
+            if (dto.getMoves() == null || dto.getMoveClocksMillis().size() != dto.getMoves().size()) {
+                throw new IllegalArgumentException("There must be one clock time per move");
+            }
+            game.setMoveClocks(MoveCodec.encodeClocks(dto.getMoveClocksMillis()));
+        }
         return game;
     }
+
+    private <T> List<T> withArchived(GameSearchDto search, Pageable limit, List<T> games, Function<ArchivedGame, T> fromArchive, ToIntFunction<T> gameId) {
+        if (gameArchive.isEmpty()) {
+            return games;
+        }
+        // When the page is already full only archived games that sort before its last one can get in
+        Integer bound = games.size() == limit.getPageSize() ? gameId.applyAsInt(games.get(games.size() - 1)) : null;
+        try (Stream<T> archived = gameArchive.search(search, bound).map(fromArchive)) {
+            return merge(games.stream(), archived, gameId, search.isDescending()).limit(limit.getPageSize()).toList();
+        }
+    }
+
+    private GameExportDto toExport(ArchivedGame game) {
+        return new GameExportDto(game.gameId(), game.playedAt(), username(game.playerWhite()), username(game.playerBlack()), game.gameType(),
+                game.timeControlDurationSeconds(), game.timeControlIncrementSeconds(), game.gameOutcome(), game.moves(), game.moveClocks());
+    }
+
+    private GameSummaryDto toSummary(ArchivedGame game) {
+        return new GameSummaryDto(game.gameId(), username(game.creator()), username(game.playerWhite()), username(game.playerBlack()),
+                game.gameType(), game.timeControlDurationSeconds(), game.timeControlIncrementSeconds(), game.gameOutcome());
+    }
+
+    private User findUser(String email) {
+        return userCache.findByEmail(email).orElse(null);
+    }
+
+    private String username(String email) {
+        return userCache.findByEmail(email).map(User::getUsername).orElse(null);
+    }
+
+    // Merges two streams that are both sorted in the order of the search. A game that is in both,
+    // because the archiver has not deleted it yet, is taken from the games table.
+    private static <T> Stream<T> merge(Stream<T> games, Stream<T> archived, ToIntFunction<T> gameId, boolean descending) {
+        Iterator<T> gameIterator = games.iterator();
+        Iterator<T> archivedIterator = archived.iterator();
+        Iterator<T> merged = new Iterator<>() {
+            private T game;
+            private T archivedGame;
+
+            @Override
+            public boolean hasNext() {
+                fill();
+                return game != null || archivedGame != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T next;
+                if (archivedGame == null || (game != null && compare(game, archivedGame) <= 0)) {
+                    if (archivedGame != null && gameId.applyAsInt(archivedGame) == gameId.applyAsInt(game)) {
+                        archivedGame = null;
+                    }
+                    next = game;
+                    game = null;
+                } else {
+                    next = archivedGame;
+                    archivedGame = null;
+                }
+                return next;
+            }
+
+            private int compare(T first, T second) {
+                int compared = Integer.compare(gameId.applyAsInt(first), gameId.applyAsInt(second));
+                return descending ? -compared : compared;
+            }
+
+            private void fill() {
+                if (game == null && gameIterator.hasNext()) {
+                    game = gameIterator.next();
+                }
+                if (archivedGame == null && archivedIterator.hasNext()) {
+                    archivedGame = archivedIterator.next();
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false);
+    }
+
+    private Optional<GameSearchDto> toSearch(Map<String, String> allRequestParams) {
+        GameSearchDto search = parseSearch(allRequestParams);
+        if (allRequestParams.containsKey("player")) {
+            Optional<User> player = userCache.findByUsername(allRequestParams.get("player"));
+            if (player.isEmpty()) {
+                return Optional.empty();
+            }
+            search.setPlayer(player.get());
+        }
+        if (allRequestParams.containsKey("creator")) {
+            Optional<User> creator = userCache.findByUsername(allRequestParams.get("creator"));
+            if (creator.isEmpty()) {
+                return Optional.empty();
+            }
+            search.setCreator(creator.get());
+        }
+        return Optional.of(search);
+    }
+
+    // Everything but the player and creator, which need a lookup
+    private static GameSearchDto parseSearch(Map<String, String> allRequestParams) {
+        GameSearchDto search = new GameSearchDto();
+        search.setPlayerColor(parseEnum(PlayerColor.class, allRequestParams.get("color")));
+        search.setGameOutcome(parseEnum(GameOutcome.class, allRequestParams.get("gameOutcome")));
+        search.setGameType(parseEnum(GameType.class, allRequestParams.get("gameType")));
+        search.setMinTimeControlDurationSeconds(parseInt("minTimeControlDurationSeconds", allRequestParams.get("minTimeControlDurationSeconds")));
+        search.setMaxTimeControlDurationSeconds(parseInt("maxTimeControlDurationSeconds", allRequestParams.get("maxTimeControlDurationSeconds")));
+        search.setAfter(Paging.afterInt(allRequestParams));
+        String order = allRequestParams.getOrDefault("order", "asc");
+        if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
+            throw new IllegalArgumentException("Order must be asc or desc");
+        }
+        search.setDescending(order.equalsIgnoreCase("desc"));
+        if (search.getPlayerColor() != null && !allRequestParams.containsKey("player")) {
+            throw new IllegalArgumentException("Color can only be used together with player");
+        }
+        return search;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(type.getSimpleName() + " must be one of " + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+
+    private static Integer parseInt(String name, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
 }
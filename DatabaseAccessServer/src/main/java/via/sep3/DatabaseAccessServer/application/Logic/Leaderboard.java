@@ -0,0 +1,210 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.domain.DTOs.LeaderboardEntryDto;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Users ordered by rating (highest first, ties by username), kept in an indexable skip list.
+ * Every forward pointer also stores how many nodes it skips, so finding the rank of a user and
+ * finding the user at a rank both take O(log n). Readers share a lock, updates are exclusive.
+ */
+@Component
+public class Leaderboard {
+    private static final int MAX_LEVEL = 32;
+
+    private final UserStatsRepository userStatsRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Double> ratings = new HashMap<>();
+    private Node head;
+    private int level;
+
+    public Leaderboard(UserStatsRepository userStatsRepository) {
+        this.userStatsRepository = userStatsRepository;
+        clear();
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<Object[]> rows = userStatsRepository.findAllRatings();
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Object[] row : rows) {
+                String username = (String) row[0];
+                double rating = ((Number) row[1]).doubleValue();
+                ratings.put(username, rating);
+                insert(username, rating);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void update(String username, double rating) {
+        lock.writeLock().lock();
+        try {
+            Double previous = ratings.put(username, rating);
+            if (previous != null) {
+                delete(username, previous);
+            }
+            insert(username, rating);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardEntryDto> rank(String username) {
+        lock.readLock().lock();
+        try {
+            Double rating = ratings.get(username);
+            if (rating == null) {
+                return Optional.empty();
+            }
+            int rank = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && !after(x.next[i], rating, username)) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            return Optional.of(new LeaderboardEntryDto(rank, username, rating));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntryDto> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntryDto> entries = new ArrayList<>(Math.min(limit, Math.max(ratings.size() - offset, 0)));
+            int traversed = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && traversed + x.span[i] <= offset) {
+                    traversed += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            for (x = x.next[0]; x != null && entries.size() < limit; x = x.next[0]) {
+                entries.add(new LeaderboardEntryDto(++traversed, x.username, x.rating));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ratings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        ratings.clear();
+        head = new Node(null, 0, MAX_LEVEL);
+        level = 1;
+    }
+
+    private void insert(String username, double rating) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], rating, username)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = ratings.size() - 1;
+            }
+            level = nodeLevel;
+        }
+        x = new Node(username, rating, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            x.next[i] = update[i].next[i];
+            update[i].next[i] = x;
+            x.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+    }
+
+    private void delete(String username, double rating) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], rating, username)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        x = x.next[0];
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    private static boolean before(Node node, double rating, String username) {
+        return node.rating > rating || (node.rating == rating && node.username.compareTo(username) < 0);
+    }
+
+    private static boolean after(Node node, double rating, String username) {
+        return node.rating < rating || (node.rating == rating && node.username.compareTo(username) > 0);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextInt(4) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        final String username;
+        final double rating;
+        final Node[] next;
+        final int[] span;
+
+        Node(String username, double rating, int level) {
+            this.username = username;
+            this.rating = rating;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.MatchmakingLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.LeaderboardEntryDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.MatchmakingRequestDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.MatchmakingTicketDto;
+import via.sep3.DatabaseAccessServer.domain.Elo;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Queues players for {@code GameType.RANDOM} games in a {@link MatchmakingPool}, at their
+ * leaderboard rating. A background thread sweeps the pool, so players who could not be paired
+ * right away are paired once their rating windows have grown. Pairings only live in memory; the
+ * players create the game as usual once it is played. A player who stops polling its ticket for
+ * matchmaking.poll-timeout is dropped from the pool.
+ */
+@Component
+public class MatchmakingLogicImpl implements MatchmakingLogic {
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingLogicImpl.class);
+
+    private final UserCache userCache;
+    private final UserStatsLogic userStatsLogic;
+    private final MatchmakingPool pool;
+    private final Duration sweepInterval;
+
+    private Thread sweeper;
+    private volatile boolean running;
+
+    public MatchmakingLogicImpl(UserCache userCache, UserStatsLogic userStatsLogic,
+                                @Value("${matchmaking.bucket-width:100}") int bucketWidth,
+                                @Value("${matchmaking.initial-window:50}") double initialWindow,
+                                @Value("${matchmaking.window-growth-per-second:10}") double windowGrowthPerSecond,
+                                @Value("${matchmaking.max-window:400}") double maxWindow,
+                                @Value("${matchmaking.sweep-interval:200ms}") Duration sweepInterval,
+                                @Value("${matchmaking.ticket-retention:1m}") Duration ticketRetention,
+                                @Value("${matchmaking.poll-timeout:30s}") Duration pollTimeout) {
+        this.userCache = userCache;
+        this.userStatsLogic = userStatsLogic;
+        this.pool = new MatchmakingPool(bucketWidth, initialWindow, windowGrowthPerSecond, maxWindow, ticketRetention.toNanos(), pollTimeout.toNanos(), System::nanoTime);
+        this.sweepInterval = sweepInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        sweeper = new Thread(this::sweep, "matchmaking");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        sweeper.interrupt();
+        sweeper.join();
+    }
+
+    @Override
+    public MatchmakingTicketDto enqueue(MatchmakingRequestDto dto) {
+        if (dto.getTimeControlDurationSeconds() <= 0) {
+            throw new IllegalArgumentException("Time control duration must be positive");
+        }
+        if (dto.getTimeControlIncrementSeconds() < 0) {
+            throw new IllegalArgumentException("Time control increment must not be negative");
+        }
+        if (userCache.findByUsername(dto.getUsername()).isEmpty()) {
+            throw new IllegalArgumentException("User does not exist.");
+        }
+        double rating = userStatsLogic.getRank(dto.getUsername()).map(LeaderboardEntryDto::getRating).map(Long::doubleValue).orElse(Elo.INITIAL_RATING);
+        MatchmakingPool.TimeControl timeControl = new MatchmakingPool.TimeControl(dto.getTimeControlDurationSeconds(), dto.getTimeControlIncrementSeconds());
+        return toDto(pool.enqueue(dto.getUsername(), rating, timeControl));
+    }
+
+    @Override
+    public Optional<MatchmakingTicketDto> getTicket(long ticketId) {
+        return pool.find(ticketId).map(MatchmakingLogicImpl::toDto);
+    }
+
+    @Override
+    public Optional<MatchmakingTicketDto> cancel(long ticketId) {
+        return pool.find(ticketId).map(ticket -> {
+            pool.cancel(ticket);
+            return toDto(ticket);
+        });
+    }
+
+    private void sweep() {
+        while (running) {
+            try {
+                Thread.sleep(sweepInterval.toMillis());
+                pool.sweep();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Matchmaking sweep failed", e);
+            }
+        }
+    }
+
+    private static MatchmakingTicketDto toDto(MatchmakingPool.Ticket ticket) {
+        MatchmakingPool.Pairing pairing = ticket.getPairing();
+        return new MatchmakingTicketDto(ticket.getTicketId(), ticket.getUsername(), ticket.getStatus(),
+                ticket.getTimeControl().durationSeconds(), ticket.getTimeControl().incrementSeconds(),
+                pairing == null ? null : pairing.playerWhite(), pairing == null ? null : pairing.playerBlack());
+    }
+}
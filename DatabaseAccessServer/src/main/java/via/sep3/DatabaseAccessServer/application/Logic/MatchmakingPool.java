@@ -0,0 +1,300 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import via.sep3.DatabaseAccessServer.domain.enums.MatchmakingStatus;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Players waiting for a random opponent, split by time control and within a time control into
+ * queues of rating buckets. Nothing is locked: the queues are {@link ConcurrentLinkedQueue}s and
+ * a ticket is taken out of the game through a compare-and-set on its state, so a player is paired
+ * at most once and a cancelled player never.
+ * <p>
+ * Two players are paired when their ratings are within the window of both. A window starts at the
+ * initial width and grows with the time waited, up to the maximum. A new player is paired right
+ * away with the longest waiting player in the nearest bucket that fits, otherwise it is queued and
+ * {@link #sweep} pairs it once the windows have grown enough.
+ * <p>
+ * A waiting player whose ticket has not been looked up for the poll timeout is taken to be gone,
+ * for example after losing the ticket id. It is no longer paired and the sweep cancels its ticket,
+ * so the user can queue again.
+ */
+public class MatchmakingPool {
+    private static final int WAITING = 0, CLAIMED = 1, MATCHED = 2, CANCELLED = 3;
+
+    private final int bucketWidth;
+    private final double initialWindow;
+    private final double windowGrowthPerSecond;
+    private final double maxWindow;
+    private final long retentionNanos;
+    private final long pollTimeoutNanos;
+    private final LongSupplier nanoTime;
+
+    private final Map<TimeControl, Map<Integer, Queue<Ticket>>> queues = new ConcurrentHashMap<>();
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> waitingByUsername = new ConcurrentHashMap<>();
+    private final AtomicLong nextTicketId = new AtomicLong();
+
+    public MatchmakingPool(int bucketWidth, double initialWindow, double windowGrowthPerSecond, double maxWindow,
+                           long retentionNanos, long pollTimeoutNanos, LongSupplier nanoTime) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("The bucket width must be positive");
+        }
+        this.bucketWidth = bucketWidth;
+        this.initialWindow = initialWindow;
+        this.windowGrowthPerSecond = windowGrowthPerSecond;
+        this.maxWindow = maxWindow;
+        this.retentionNanos = retentionNanos;
+        this.pollTimeoutNanos = pollTimeoutNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    public record TimeControl(int durationSeconds, int incrementSeconds) {
+    }
+
+    public record Pairing(String playerWhite, String playerBlack, TimeControl timeControl) {
+    }
+
+    public static final class Ticket {
+        private final long ticketId;
+        private final String username;
+        private final double rating;
+        private final TimeControl timeControl;
+        private final long enqueuedAt;
+        // Starts out claimed, so nobody can pair the ticket before enqueue has looked for an opponent itself
+        private final AtomicInteger state = new AtomicInteger(CLAIMED);
+        private volatile Pairing pairing;
+        private volatile long finishedAt;
+        private volatile long lastSeenAt;
+
+        private Ticket(long ticketId, String username, double rating, TimeControl timeControl, long enqueuedAt) {
+            this.ticketId = ticketId;
+            this.username = username;
+            this.rating = rating;
+            this.timeControl = timeControl;
+            this.enqueuedAt = enqueuedAt;
+            this.lastSeenAt = enqueuedAt;
+        }
+
+        public long getTicketId() {
+            return ticketId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public TimeControl getTimeControl() {
+            return timeControl;
+        }
+
+        public MatchmakingStatus getStatus() {
+            return switch (state.get()) {
+                case MATCHED -> MatchmakingStatus.MATCHED;
+                case CANCELLED -> MatchmakingStatus.CANCELLED;
+                default -> MatchmakingStatus.WAITING;
+            };
+        }
+
+        // Set before the state becomes MATCHED, null until then
+        public Pairing getPairing() {
+            return pairing;
+        }
+
+        private boolean isFinished() {
+            int current = state.get();
+            return current == MATCHED || current == CANCELLED;
+        }
+    }
+
+    /**
+     * Pairs the player with a waiting opponent or queues it. Throws when the user is already waiting,
+     * unless its ticket has passed the poll timeout.
+     */
+    public Ticket enqueue(String username, double rating, TimeControl timeControl) {
+        long now = nanoTime.getAsLong();
+        Ticket ticket = new Ticket(nextTicketId.incrementAndGet(), username, rating, timeControl, now);
+        Ticket previous;
+        while ((previous = waitingByUsername.putIfAbsent(username, ticket)) != null) {
+            if (isAbandoned(previous, now)) {
+                cancel(previous);
+            }
+            if (!previous.isFinished()) {
+                throw new IllegalArgumentException("This user is already waiting for a game");
+            }
+            waitingByUsername.remove(username, previous);
+        }
+        tickets.put(ticket.ticketId, ticket);
+
+        Ticket opponent = claimOpponent(ticket, now);
+        if (opponent != null) {
+            pair(opponent, ticket, now);
+        } else {
+            ticket.state.set(WAITING);
+            queue(timeControl, bucket(rating)).add(ticket);
+        }
+        return ticket;
+    }
+
+    // Looking a ticket up shows that its player is still there
+    public Optional<Ticket> find(long ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        ticket.lastSeenAt = nanoTime.getAsLong();
+        return Optional.of(ticket);
+    }
+
+    /**
+     * Takes a waiting ticket out of the queue. Returns false when it was already matched or cancelled.
+     */
+    public boolean cancel(Ticket ticket) {
+        while (true) {
+            int current = ticket.state.get();
+            if (current == WAITING) {
+                // Only read once the state says finished
+                ticket.finishedAt = nanoTime.getAsLong();
+                if (ticket.state.compareAndSet(WAITING, CANCELLED)) {
+                    waitingByUsername.remove(ticket.username, ticket);
+                    return true;
+                }
+            } else if (current == CLAIMED) {
+                // Only held while someone looks for an opponent for it
+                Thread.onSpinWait();
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Pairs the waiting players whose windows have grown enough, oldest first within a bucket,
+     * cancels the tickets that passed the poll timeout, drops matched and cancelled tickets from the
+     * queues and forgets tickets that finished longer than the retention ago. Returns the number of
+     * pairings made.
+     */
+    public int sweep() {
+        long now = nanoTime.getAsLong();
+        int paired = 0;
+        for (Map<Integer, Queue<Ticket>> buckets : queues.values()) {
+            for (Queue<Ticket> queue : buckets.values()) {
+                for (Iterator<Ticket> iterator = queue.iterator(); iterator.hasNext(); ) {
+                    Ticket ticket = iterator.next();
+                    if (isAbandoned(ticket, now)) {
+                        cancel(ticket);
+                    }
+                    if (ticket.isFinished()) {
+                        iterator.remove();
+                        continue;
+                    }
+                    if (!ticket.state.compareAndSet(WAITING, CLAIMED)) {
+                        continue;
+                    }
+                    Ticket opponent = claimOpponent(ticket, now);
+                    if (opponent != null) {
+                        iterator.remove();
+                        pair(opponent, ticket, now);
+                        paired++;
+                    } else {
+                        ticket.state.set(WAITING);
+                    }
+                }
+            }
+        }
+        tickets.values().removeIf(ticket -> ticket.isFinished() && now - ticket.finishedAt > retentionNanos);
+        return paired;
+    }
+
+    public int waiting() {
+        int waiting = 0;
+        for (Map<Integer, Queue<Ticket>> buckets : queues.values()) {
+            for (Collection<Ticket> queue : buckets.values()) {
+                for (Ticket ticket : queue) {
+                    if (!ticket.isFinished()) {
+                        waiting++;
+                    }
+                }
+            }
+        }
+        return waiting;
+    }
+
+    private boolean isAbandoned(Ticket ticket, long now) {
+        return now - ticket.lastSeenAt > pollTimeoutNanos;
+    }
+
+    private double window(Ticket ticket, long now) {
+        double grown = initialWindow + windowGrowthPerSecond * (now - ticket.enqueuedAt) / 1e9;
+        return Math.min(grown, maxWindow);
+    }
+
+    // The seeker is claimed, the opponent that is returned has been claimed and taken out of its queue
+    private Ticket claimOpponent(Ticket seeker, long now) {
+        Map<Integer, Queue<Ticket>> buckets = queues.get(seeker.timeControl);
+        if (buckets == null) {
+            return null;
+        }
+        double window = window(seeker, now);
+        int home = bucket(seeker.rating);
+        int reach = (int) (window / bucketWidth) + 1;
+        for (int distance = 0; distance <= reach; distance++) {
+            for (int side = distance == 0 ? 1 : -1; side <= 1; side += 2) {
+                Queue<Ticket> queue = buckets.get(home + side * distance);
+                if (queue == null) {
+                    continue;
+                }
+                for (Iterator<Ticket> iterator = queue.iterator(); iterator.hasNext(); ) {
+                    Ticket candidate = iterator.next();
+                    if (candidate.isFinished()) {
+                        iterator.remove();
+                        continue;
+                    }
+                    double difference = Math.abs(candidate.rating - seeker.rating);
+                    if (candidate != seeker && !isAbandoned(candidate, now) && difference <= window && difference <= window(candidate, now)
+                            && candidate.state.compareAndSet(WAITING, CLAIMED)) {
+                        iterator.remove();
+                        return candidate;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void pair(Ticket first, Ticket second, long now) {
+        boolean firstIsWhite = ThreadLocalRandom.current().nextBoolean();
+        Pairing pairing = firstIsWhite
+                ? new Pairing(first.username, second.username, first.timeControl)
+                : new Pairing(second.username, first.username, first.timeControl);
+        for (Ticket ticket : new Ticket[]{first, second}) {
+            ticket.pairing = pairing;
+            ticket.finishedAt = now;
+            ticket.state.set(MATCHED);
+            waitingByUsername.remove(ticket.username, ticket);
+        }
+    }
+
+    private Queue<Ticket> queue(TimeControl timeControl, int bucket) {
+        return queues.computeIfAbsent(timeControl, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(bucket, key -> new ConcurrentLinkedQueue<>());
+    }
+
+    private int bucket(double rating) {
+        return (int) Math.floor(rating / bucketWidth);
+    }
+}
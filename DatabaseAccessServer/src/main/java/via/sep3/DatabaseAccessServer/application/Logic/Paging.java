@@ -0,0 +1,47 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+
+final class Paging {
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private Paging() {
+    }
+
+    static Pageable limit(Map<String, String> allRequestParams) {
+        String value = allRequestParams.get("limit");
+        if (value == null) {
+            return PageRequest.ofSize(DEFAULT_LIMIT);
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Limit must be a number");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return PageRequest.ofSize(limit);
+    }
+
+    static Integer afterInt(Map<String, String> allRequestParams) {
+        String value = allRequestParams.get("after");
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("After must be a number");
+        }
+    }
+
+    static String afterString(Map<String, String> allRequestParams) {
+        return allRequestParams.getOrDefault("after", "");
+    }
+}
@@ -0,0 +1,126 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.PositionIndexLogic;
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.domain.DTOs.PositionStatsDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.GamePosition;
+import via.sep3.DatabaseAccessServer.domain.Position;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class PositionIndexLogicImpl implements PositionIndexLogic {
+    private static final int MAX_LIMIT = 100;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Resource
+    private final GamePositionRepository gamePositionRepository;
+
+    @Resource
+    private final GameRepository gameRepository;
+
+    private final GameArchive gameArchive;
+
+    public PositionIndexLogicImpl(GamePositionRepository gamePositionRepository, GameRepository gameRepository, GameArchive gameArchive) {
+        this.gamePositionRepository = gamePositionRepository;
+        this.gameRepository = gameRepository;
+        this.gameArchive = gameArchive;
+    }
+
+    // Joins the transaction that inserts the games, like the user stats
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<Game> games) {
+        List<GamePosition> positions = new ArrayList<>();
+        for (Game game : games) {
+            if (game.getMoves() != null) {
+                addPositions(positions, game.getGameId(), game.getMoves(), game.getGameOutcome());
+            }
+        }
+        gamePositionRepository.saveAll(positions);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PositionStatsDto search(String fen, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        long hash = Position.fromFen(fen).hash();
+        long games = 0, whiteWins = 0, blackWins = 0, draws = 0;
+        for (Object[] row : gamePositionRepository.countOutcomesByHash(hash)) {
+            long count = (Long) row[1];
+            games += count;
+            if (row[0] == GameOutcome.WHITE) {
+                whiteWins = count;
+            } else if (row[0] == GameOutcome.BLACK) {
+                blackWins = count;
+            } else if (row[0] == GameOutcome.DRAW) {
+                draws = count;
+            }
+        }
+        List<Integer> gameIds = games == 0 ? List.of() : gamePositionRepository.findGameIdsByHash(hash, PageRequest.of(0, limit));
+        return new PositionStatsDto(games, whiteWins, blackWins, draws, gameIds);
+    }
+
+    // Runs outside of a transaction so every batch is committed, and forgotten, on its own.
+    // Archived games keep their positions in the index, they are added first. Games that are in the
+    // table as well are only added from there, see ArchivedGameBatches.
+    @Override
+    public void rebuild() {
+        gamePositionRepository.deleteAllPositions();
+        ArchivedGameBatches.forEach(gameArchive, gameRepository, REBUILD_BATCH_SIZE, games -> {
+            List<GamePosition> positions = new ArrayList<>();
+            for (ArchivedGame game : games) {
+                if (game.moves() != null) {
+                    addPositions(positions, game.gameId(), game.moves(), game.gameOutcome());
+                }
+            }
+            gamePositionRepository.saveAll(positions);
+        });
+        int lastGameId = 0;
+        List<Object[]> games;
+        do {
+            games = gameRepository.findMovesAfter(lastGameId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            List<GamePosition> positions = new ArrayList<>();
+            for (Object[] game : games) {
+                lastGameId = (Integer) game[0];
+                addPositions(positions, lastGameId, (byte[]) game[1], (GameOutcome) game[2]);
+            }
+            gamePositionRepository.saveAll(positions);
+        } while (games.size() == REBUILD_BATCH_SIZE);
+    }
+
+    // A game that returns to a position is only indexed once for it.
+    // Replaying stops at a move that does not fit the board, everything before it is still indexed.
+    private static void addPositions(List<GamePosition> positions, int gameId, byte[] moves, GameOutcome outcome) {
+        Set<Long> hashes = new LinkedHashSet<>();
+        Position position = Position.initial();
+        hashes.add(position.hash());
+        for (int i = 0; i + 1 < moves.length; i += 2) {
+            try {
+                position.play(((moves[i] & 0xFF) << 8) | (moves[i + 1] & 0xFF));
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+            hashes.add(position.hash());
+        }
+        for (long hash : hashes) {
+            positions.add(new GamePosition(hash, gameId, outcome));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of the user lookups by username and by email.
+ * Only existing users are cached, and callers always get their own copy.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, User> byUsername;
+
+    private final Cache<String, User> byEmail;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${users.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${users.cache.time-to-live:10m}") Duration timeToLive) {
+        this.userRepository = userRepository;
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        User cached = byUsername.getIfPresent(username);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        Optional<User> user = userRepository.findByUsernameEquals(username);
+        user.ifPresent(this::put);
+        return user.map(UserCache::copy);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        User cached = byEmail.getIfPresent(email.toLowerCase(Locale.ROOT));
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        Optional<User> user = userRepository.findByEmailLower(email.toLowerCase(Locale.ROOT));
+        user.ifPresent(this::put);
+        return user.map(UserCache::copy);
+    }
+
+    // These two only look in the cache, a miss does not mean there is no such user
+    public boolean containsEmail(String email) {
+        return email != null && byEmail.getIfPresent(email.toLowerCase(Locale.ROOT)) != null;
+    }
+
+    public boolean containsUsername(String username) {
+        return username != null && byUsername.getIfPresent(username) != null;
+    }
+
+    public Map<String, User> findByUsernames(Collection<String> usernames) {
+        Map<String, User> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String username : usernames) {
+            User cached = username == null ? null : byUsername.getIfPresent(username);
+            if (cached != null) {
+                found.put(username, copy(cached));
+            } else if (username != null) {
+                missing.add(username);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findByUsernameIn(missing)) {
+                put(user);
+                found.put(user.getUsername(), copy(user));
+            }
+        }
+        return found;
+    }
+
+    public void put(User user) {
+        User copy = copy(user);
+        byUsername.put(copy.getUsername(), copy);
+        byEmail.put(copy.getEmail().toLowerCase(Locale.ROOT), copy);
+    }
+
+    public void invalidate(User user) {
+        byUsername.invalidate(user.getUsername());
+        byEmail.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
+    }
+
+    public CacheStats usernameStats() {
+        return byUsername.stats();
+    }
+
+    public CacheStats emailStats() {
+        return byEmail.stats();
+    }
+
+    // Keeps the id, so that games can reference the copy
+    private static User copy(User user) {
+        User copy = new User(user.getEmail(), user.getUsername(), user.getPassword(), user.getRole());
+        copy.setUserId(user.getUserId());
+        return copy;
+    }
+}
@@ -1,42 +1,148 @@
 package via.sep3.DatabaseAccessServer.application.Logic;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserLogic;
 import via.sep3.DatabaseAccessServer.domain.DTOs.UserLoginDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserSearchResultDto;
 import via.sep3.DatabaseAccessServer.domain.User;
 import via.sep3.DatabaseAccessServer.repository.UserRepository;
 
 import javax.annotation.Resource;
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class UserLogicImpl implements UserLogic {
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String EMAIL_IN_USE = "This email is already in use";
+    private static final String USERNAME_IN_USE = "This username is already in use";
 
     @Resource
     private final UserRepository userRepository;
 
-    public UserLogicImpl(UserRepository userRepository) {
+    private final UserCache userCache;
+
+    private final UsernameIndex usernameIndex;
+
+    private final EntityManager entityManager;
+
+    public UserLogicImpl(UserRepository userRepository, UserCache userCache, UsernameIndex usernameIndex, EntityManager entityManager) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.usernameIndex = usernameIndex;
+        this.entityManager = entityManager;
     }
 
     @Override
+    @Transactional
     public User create(User user) {
+        validate(user);
+        // Users the cache knows are turned away without a round trip, the unique constraints catch the rest
+        if (userCache.containsEmail(user.getEmail())) {
+            throw new IllegalArgumentException(EMAIL_IN_USE);
+        }
+        if (userCache.containsUsername(user.getUsername())) {
+            throw new IllegalArgumentException(USERNAME_IN_USE);
+        }
+        insert(List.of(user));
+        return user;
+    }
+
+    @Override
+    @Transactional
+    public List<User> createAll(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        if (users.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " users can be created at once");
+        }
+        Map<String, Integer> emails = new HashMap<>();
+        Map<String, Integer> usernames = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            try {
+                validate(user);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("User " + i + ": " + e.getMessage());
+            }
+            if (emails.putIfAbsent(user.getEmail().toLowerCase(Locale.ROOT), i) != null) {
+                throw new IllegalArgumentException("User " + i + ": " + EMAIL_IN_USE);
+            }
+            if (usernames.putIfAbsent(user.getUsername().toLowerCase(Locale.ROOT), i) != null) {
+                throw new IllegalArgumentException("User " + i + ": " + USERNAME_IN_USE);
+            }
+        }
+        for (User existing : userRepository.findByLowerCaseEmailsOrUsernames(emails.keySet(), usernames.keySet())) {
+            Integer i = emails.get(existing.getEmail().toLowerCase(Locale.ROOT));
+            if (i != null) {
+                throw new IllegalArgumentException("User " + i + ": " + EMAIL_IN_USE);
+            }
+            throw new IllegalArgumentException("User " + usernames.get(existing.getUsername().toLowerCase(Locale.ROOT)) + ": " + USERNAME_IN_USE);
+        }
+        insert(users);
+        return users;
+    }
+
+    private static void validate(User user) {
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            throw new IllegalArgumentException("Email must not be empty");
+        }
+        if (user.getUsername() == null || user.getUsername().isBlank()) {
+            throw new IllegalArgumentException("Username must not be empty");
+        }
         if (user.getUsername().toLowerCase().contains("stockfishai")) {
             throw new IllegalArgumentException("Usernames starting with stockfishai are not allowed");
         }
-        if (userRepository.findByEmailIgnoreCase(user.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("This email is already in use");
+    }
+
+    // persist instead of save, which would select the user by its email first. The inserts go out
+    // in JDBC batches of hibernate.jdbc.batch_size. The cache and the username index only learn
+    // about the users once they are committed.
+    private void insert(List<User> users) {
+        try {
+            for (User user : users) {
+                entityManager.persist(user);
+            }
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw inUse(e);
+        }
+        AfterCommit.run(() -> {
+            for (User user : users) {
+                userCache.put(user);
+                usernameIndex.add(user.getUsername());
+            }
+        });
+    }
+
+    // Maps the unique constraints on users to the messages of the checks before the insert
+    private static RuntimeException inUse(PersistenceException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation) {
+            String constraint = violation.getConstraintName() == null ? "" : violation.getConstraintName().toLowerCase(Locale.ROOT);
+            return new IllegalArgumentException(constraint.contains(User.USERNAME_CONSTRAINT) ? USERNAME_IN_USE : EMAIL_IN_USE);
         }
-        if (userRepository.findByUsernameEquals(user.getUsername()).isPresent()) {
-            throw new IllegalArgumentException("This username is already in use");
+        if (e instanceof EntityExistsException) {
+            return new IllegalArgumentException(EMAIL_IN_USE);
         }
-        return userRepository.save(user);
+        return e;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User login(UserLoginDto user) {
-        User existing = userRepository.findByEmailIgnoreCase(user.getEmail()).orElseThrow(() -> new IllegalArgumentException("This user does not exist"));
+        User existing = userCache.findByEmail(user.getEmail()).orElseThrow(() -> new IllegalArgumentException("This user does not exist"));
         if (existing.getPassword().equals(user.getPassword())) {
             return existing;
         } else {
@@ -45,21 +151,54 @@ public class UserLogicImpl implements UserLogic {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Iterable<User> getAll(Map<String, String> allRequestParams) {
         Iterable<User> users;
+        String after = Paging.afterString(allRequestParams);
 
         if (!allRequestParams.containsKey("username")) {
-            users = userRepository.findAll();
+            users = userRepository.findByEmailGreaterThanOrderByEmailAsc(after, Paging.limit(allRequestParams));
         } else {
-            users = userRepository.findByUsernameContaining(allRequestParams.get("username"));
+            users = userRepository.findByUsernameContainingAndEmailGreaterThanOrderByEmailAsc(allRequestParams.get("username"), after, Paging.limit(allRequestParams));
         }
         return users;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Map<String, String> allRequestParams, Consumer<User> action) {
+        Stream<User> users;
+        if (!allRequestParams.containsKey("username")) {
+            users = userRepository.streamByOrderByEmailAsc();
+        } else {
+            users = userRepository.streamByUsernameContainingOrderByEmailAsc(allRequestParams.get("username"));
+        }
+        try (users) {
+            users.forEach(user -> {
+                action.accept(user);
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    @Override
+    public List<UserSearchResultDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search must not be empty");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return usernameIndex.search(query.trim(), limit).stream()
+                .map(UserSearchResultDto::new)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<User> getByUsername(String username) {
         Optional<User> user;
-        user = userRepository.findByUsernameEquals(username);
+        user = userCache.findByUsername(username);
         return user;
     }
 }
@@ -0,0 +1,137 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.LeaderboardEntryDto;
+import via.sep3.DatabaseAccessServer.domain.Elo;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.UserStats;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.domain.enums.PlayerColor;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+@Component
+public class UserStatsLogicImpl implements UserStatsLogic {
+    private static final int MAX_LEADERBOARD_LIMIT = 1000;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Resource
+    private final UserStatsRepository userStatsRepository;
+
+    @Resource
+    private final GameRepository gameRepository;
+
+    private final GameArchive gameArchive;
+
+    private final UserCache userCache;
+
+    private final Leaderboard leaderboard;
+
+    public UserStatsLogicImpl(UserStatsRepository userStatsRepository, GameRepository gameRepository, GameArchive gameArchive, UserCache userCache, Leaderboard leaderboard) {
+        this.userStatsRepository = userStatsRepository;
+        this.gameRepository = gameRepository;
+        this.gameArchive = gameArchive;
+        this.userCache = userCache;
+        this.leaderboard = leaderboard;
+    }
+
+    // Joins the transaction that inserts the games, so the stats never disagree with the games table.
+    // The rows are locked because a rating change depends on the current rating of both players.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<Game> games) {
+        Map<String, String> usernames = new HashMap<>();
+        for (Game game : games) {
+            usernames.put(game.getPlayerWhite().getEmail(), game.getPlayerWhite().getUsername());
+            usernames.put(game.getPlayerBlack().getEmail(), game.getPlayerBlack().getUsername());
+        }
+        Map<String, UserStats> stats = new HashMap<>();
+        for (UserStats userStats : userStatsRepository.findAllForUpdate(usernames.keySet())) {
+            stats.put(userStats.getEmail(), userStats);
+        }
+        Set<String> missing = new TreeSet<>(usernames.keySet());
+        missing.removeAll(stats.keySet());
+        if (!missing.isEmpty()) {
+            // Two transactions may both find a player without stats, the second insert is a no-op
+            // and its select waits for the row the first one inserted
+            for (String email : missing) {
+                userStatsRepository.insertIfMissing(email);
+            }
+            for (UserStats userStats : userStatsRepository.findAllForUpdate(missing)) {
+                stats.put(userStats.getEmail(), userStats);
+            }
+        }
+        for (Game game : games) {
+            addGame(stats, game.getPlayerWhite().getEmail(), game.getPlayerBlack().getEmail(), game.getGameOutcome(), game.getGameType());
+        }
+
+        Map<String, Double> ratings = new HashMap<>();
+        usernames.forEach((email, username) -> ratings.put(username, stats.get(email).getRating()));
+        AfterCommit.run(() -> ratings.forEach(leaderboard::update));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserStats> getByUsername(String username) {
+        return userCache.findByUsername(username)
+                .map(user -> userStatsRepository.findById(user.getEmail()).orElseGet(() -> new UserStats(user.getEmail())));
+    }
+
+    @Override
+    public List<LeaderboardEntryDto> getLeaderboard(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 1 || limit > MAX_LEADERBOARD_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LEADERBOARD_LIMIT);
+        }
+        return leaderboard.page(offset, limit);
+    }
+
+    @Override
+    public Optional<LeaderboardEntryDto> getRank(String username) {
+        return leaderboard.rank(username);
+    }
+
+    // Ratings depend on the order games were played in, so the games are replayed in id order
+    // in a single pass that produces the counters and the ratings together. Archived games are older
+    // than the ones in the table, so they come first. Games that are in both only count from the table.
+    @Override
+    @Transactional
+    public void rebuild() {
+        userStatsRepository.deleteAllStats();
+        Map<String, UserStats> stats = new HashMap<>();
+        ArchivedGameBatches.forEach(gameArchive, gameRepository, REBUILD_BATCH_SIZE, games -> games.forEach(
+                game -> addGame(stats, game.playerWhite(), game.playerBlack(), game.gameOutcome(), game.gameType())));
+        try (Stream<Object[]> results = gameRepository.streamResults()) {
+            results.forEach(row -> addGame(stats, (String) row[0], (String) row[1], (GameOutcome) row[2], (GameType) row[3]));
+        }
+        userStatsRepository.saveAll(stats.values());
+        AfterCommit.run(leaderboard::rebuild);
+    }
+
+    private static void addGame(Map<String, UserStats> stats, String white, String black, GameOutcome outcome, GameType gameType) {
+        UserStats whiteStats = stats.computeIfAbsent(white, UserStats::new);
+        UserStats blackStats = stats.computeIfAbsent(black, UserStats::new);
+        whiteStats.add(PlayerColor.WHITE, outcome, gameType);
+        blackStats.add(PlayerColor.BLACK, outcome, gameType);
+        if (!white.equals(black)) {
+            Elo.update(whiteStats, blackStats, outcome);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package via.sep3.DatabaseAccessServer.application.Logic;
+
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Case-insensitive in-memory index over all usernames, used for autocomplete.
+ * Prefixes are answered from a sorted set and longer substrings from trigram postings.
+ * Every query looks at no more than {@link #MAX_CANDIDATES} usernames.
+ */
+@Component
+public class UsernameIndex {
+    static final int MAX_CANDIDATES = 5000;
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+
+    // Entries are "lowercase username" + SEPARATOR + "username", so a prefix is a contiguous range.
+    private final NavigableSet<String> sorted = new ConcurrentSkipListSet<>();
+
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+
+    public UsernameIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        sorted.clear();
+        trigrams.clear();
+        userRepository.findAllUsernames().forEach(this::add);
+    }
+
+    public void add(String username) {
+        if (username == null) {
+            return;
+        }
+        String lower = username.toLowerCase(Locale.ROOT);
+        if (!sorted.add(lower + SEPARATOR + username)) {
+            return;
+        }
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            trigrams.computeIfAbsent(lower.substring(i, i + 3), key -> ConcurrentHashMap.newKeySet()).add(username);
+        }
+    }
+
+    public List<String> search(String query, int limit) {
+        String lower = query.toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+        for (String username : prefixCandidates(lower)) {
+            matches.add(new Match(username, username.length() == lower.length() ? 0 : 1));
+        }
+        if (lower.length() >= 3 && matches.size() < MAX_CANDIDATES) {
+            for (String username : substringCandidates(lower)) {
+                String candidate = username.toLowerCase(Locale.ROOT);
+                if (!candidate.startsWith(lower) && candidate.contains(lower)) {
+                    matches.add(new Match(username, 2 + candidate.indexOf(lower)));
+                }
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::rank)
+                        .thenComparingInt(match -> match.username().length())
+                        .thenComparing(Match::username, ORDER))
+                .limit(limit)
+                .map(Match::username)
+                .toList();
+    }
+
+    private List<String> prefixCandidates(String prefix) {
+        List<String> candidates = new ArrayList<>();
+        for (String entry : sorted.subSet(prefix, true, prefix + Character.MAX_VALUE, false)) {
+            if (candidates.size() >= MAX_CANDIDATES) {
+                break;
+            }
+            int separator = entry.indexOf(SEPARATOR);
+            if (separator >= prefix.length()) {
+                candidates.add(entry.substring(separator + 1));
+            }
+        }
+        return candidates;
+    }
+
+    private List<String> substringCandidates(String query) {
+        Set<String> smallest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Set<String> postings = trigrams.get(query.substring(i, i + 3));
+            if (postings == null) {
+                return List.of();
+            }
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        List<String> candidates = new ArrayList<>();
+        for (String username : smallest) {
+            if (candidates.size() >= MAX_CANDIDATES) {
+                break;
+            }
+            candidates.add(username);
+        }
+        return candidates;
+    }
+
+    private record Match(String username, int rank) {
+    }
+}
@@ -5,16 +5,38 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameExportDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
 import via.sep3.DatabaseAccessServer.domain.Game;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GameLogic {
 
     Game create(@RequestBody GameCreationDto dto);
 
-    Iterable<Game> getAll(@RequestParam Map<String, String> allRequestParams);
+    // Throws the same IllegalArgumentException as create would, without storing anything
+    void validate(GameCreationDto dto);
+
+    List<GameSummaryDto> createAll(@RequestBody List<GameCreationDto> dtos);
+
+    Iterable<GameSummaryDto> getAll(@RequestParam Map<String, String> allRequestParams);
+
+    // Throws the same IllegalArgumentException as the search would, without reading anything
+    void validateSearch(@RequestParam Map<String, String> allRequestParams);
+
+    void streamAll(@RequestParam Map<String, String> allRequestParams, Consumer<GameSummaryDto> action);
+
+    // The same search as getAll and streamAll, with what a PGN export needs
+    Iterable<GameExportDto> getAllForExport(@RequestParam Map<String, String> allRequestParams);
+
+    void streamAllForExport(@RequestParam Map<String, String> allRequestParams, Consumer<GameExportDto> action);
 
     Optional<Game> getByGameId(@PathVariable("gameId") int gameId);
+
+    Optional<GameMovesDto> getMoves(@PathVariable("gameId") int gameId);
 }
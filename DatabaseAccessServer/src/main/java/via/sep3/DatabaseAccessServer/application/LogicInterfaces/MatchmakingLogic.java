@@ -0,0 +1,14 @@
+package via.sep3.DatabaseAccessServer.application.LogicInterfaces;
+
+import via.sep3.DatabaseAccessServer.domain.DTOs.MatchmakingRequestDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.MatchmakingTicketDto;
+
+import java.util.Optional;
+
+public interface MatchmakingLogic {
+    MatchmakingTicketDto enqueue(MatchmakingRequestDto dto);
+
+    Optional<MatchmakingTicketDto> getTicket(long ticketId);
+
+    Optional<MatchmakingTicketDto> cancel(long ticketId);
+}
@@ -0,0 +1,15 @@
+package via.sep3.DatabaseAccessServer.application.LogicInterfaces;
+
+import via.sep3.DatabaseAccessServer.domain.DTOs.PositionStatsDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+
+import java.util.Collection;
+
+public interface PositionIndexLogic {
+
+    void record(Collection<Game> games);
+
+    PositionStatsDto search(String fen, int limit);
+
+    void rebuild();
+}
@@ -5,18 +5,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import via.sep3.DatabaseAccessServer.domain.DTOs.UserLoginDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserSearchResultDto;
 import via.sep3.DatabaseAccessServer.domain.User;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserLogic {
 
     User create(@RequestBody User user);
 
+    List<User> createAll(@RequestBody List<User> users);
+
     User login(@RequestBody UserLoginDto user);
 
     Iterable<User> getAll(@RequestParam Map<String, String> allRequestParams);
 
+    void streamAll(@RequestParam Map<String, String> allRequestParams, Consumer<User> action);
+
+    List<UserSearchResultDto> search(@RequestParam("search") String query, @RequestParam("limit") int limit);
+
     Optional<User> getByUsername(@PathVariable("username") String username);
 }
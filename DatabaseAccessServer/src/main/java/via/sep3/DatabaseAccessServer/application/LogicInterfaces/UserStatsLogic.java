@@ -0,0 +1,24 @@
+package via.sep3.DatabaseAccessServer.application.LogicInterfaces;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import via.sep3.DatabaseAccessServer.domain.DTOs.LeaderboardEntryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.UserStats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserStatsLogic {
+
+    void record(Collection<Game> games);
+
+    Optional<UserStats> getByUsername(@PathVariable("username") String username);
+
+    List<LeaderboardEntryDto> getLeaderboard(@RequestParam("offset") int offset, @RequestParam("limit") int limit);
+
+    Optional<LeaderboardEntryDto> getRank(@PathVariable("username") String username);
+
+    void rebuild();
+}
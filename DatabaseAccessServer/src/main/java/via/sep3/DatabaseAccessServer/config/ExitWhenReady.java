@@ -0,0 +1,21 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the server as soon as it is ready when started with {@code --startup.exit-when-ready=true}.
+ * The cds build profile starts it like that to record the classes that are loaded during startup.
+ */
+@Component
+@ConditionalOnProperty(name = "startup.exit-when-ready", havingValue = "true")
+public class ExitWhenReady implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,32 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * A database that Hibernate created is taken over by Flyway at the version its schema is at, so
+ * that the migrations for changes Hibernate has already made are skipped. Only matters for the
+ * first start with Flyway, later ones go by the schema history.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "true")
+public class FlywayBaselineVersion implements FlywayConfigurationCustomizer {
+
+    @Override
+    public void customize(FluentConfiguration configuration) {
+        String version = version(new JdbcTemplate(configuration.getDataSource()));
+        if (version != null) {
+            configuration.baselineVersion(version);
+        }
+    }
+
+    static String version(JdbcTemplate jdbcTemplate) {
+        if (UserIdInitializer.hasColumn(jdbcTemplate, "users", "email_lower")) {
+            return "3";
+        }
+        return null;
+    }
+}
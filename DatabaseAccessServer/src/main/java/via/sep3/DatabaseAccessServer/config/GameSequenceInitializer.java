@@ -0,0 +1,43 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Games used to get identity ids, so on an existing PostgreSQL database the pooled
+ * {@code games_seq} starts below ids that are already taken. Moves it past them once.
+ * With Flyway this is migration 2, see {@link GameSequenceMigration}.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "false")
+public class GameSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The entity manager factory is only injected so that Hibernate has created games_seq first.
+    public GameSequenceInitializer(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignWithExistingGames() {
+        align(jdbcTemplate);
+    }
+
+    static void align(JdbcTemplate jdbcTemplate) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        Long maxGameId = jdbcTemplate.queryForObject("select coalesce(max(game_id), 0) from games", Long.class);
+        Long lastValue = jdbcTemplate.queryForObject("select last_value from games_seq", Long.class);
+        if (maxGameId != null && lastValue != null && maxGameId > lastValue) {
+            jdbcTemplate.queryForObject("select setval('games_seq', ?)", Long.class, maxGameId);
+        }
+    }
+}
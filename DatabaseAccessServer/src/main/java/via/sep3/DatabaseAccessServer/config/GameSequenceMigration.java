@@ -0,0 +1,53 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration 2, after the baseline in {@code db/migration}: what {@link GameSequenceInitializer}
+ * does on every start when Hibernate manages the schema, done once.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "true")
+public class GameSequenceMigration implements JavaMigration {
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("2");
+    }
+
+    @Override
+    public String getDescription() {
+        return "align games seq with existing games";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        GameSequenceInitializer.align(new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true)));
+    }
+}
@@ -0,0 +1,71 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the gRPC services next to the HTTP API on {@code grpc.server.port}. A negative port turns it off.
+ */
+@Component
+public class GrpcServer implements SmartLifecycle {
+
+    private final List<BindableService> services;
+
+    private final int port;
+
+    private Server server;
+
+    public GrpcServer(List<BindableService> services, @Value("${grpc.server.port:9090}") int port) {
+        this.services = services;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        if (port < 0) {
+            return;
+        }
+        NettyServerBuilder builder = NettyServerBuilder.forPort(port);
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        return server == null ? -1 : server.getPort();
+    }
+}
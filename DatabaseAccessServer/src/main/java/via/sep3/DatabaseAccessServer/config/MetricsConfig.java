@@ -0,0 +1,46 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import via.sep3.DatabaseAccessServer.application.Logic.GameJournal;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> {
+            FunctionCounter.builder("users.cache.requests", userCache, cache -> cache.usernameStats().hitCount())
+                    .tag("key", "username").tag("result", "hit").register(registry);
+            FunctionCounter.builder("users.cache.requests", userCache, cache -> cache.usernameStats().missCount())
+                    .tag("key", "username").tag("result", "miss").register(registry);
+            FunctionCounter.builder("users.cache.requests", userCache, cache -> cache.emailStats().hitCount())
+                    .tag("key", "email").tag("result", "hit").register(registry);
+            FunctionCounter.builder("users.cache.requests", userCache, cache -> cache.emailStats().missCount())
+                    .tag("key", "email").tag("result", "miss").register(registry);
+            FunctionCounter.builder("users.cache.evictions", userCache, cache -> cache.usernameStats().evictionCount() + cache.emailStats().evictionCount())
+                    .register(registry);
+        };
+    }
+
+    // The journal is looked up on first read, it depends on beans that are created with the registry
+    @Bean
+    @ConditionalOnProperty(name = "games.journal.enabled", havingValue = "true")
+    public MeterBinder gameJournalMetrics(ObjectProvider<GameJournal> gameJournal) {
+        return registry -> Gauge.builder("games.journal.pending", gameJournal, journal -> journal.getObject().pendingGames())
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder gameArchiveMetrics(GameArchive gameArchive) {
+        return registry -> Gauge.builder("games.archive.size", gameArchive, GameArchive::size)
+                .register(registry);
+    }
+}
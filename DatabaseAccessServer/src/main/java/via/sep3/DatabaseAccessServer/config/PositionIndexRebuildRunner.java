@@ -0,0 +1,32 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.PositionIndexLogic;
+
+/**
+ * One-off job that fills {@code game_positions} from the moves of the games stored before the
+ * index existed. Start the server once with {@code --positions.rebuild=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "positions.rebuild", havingValue = "true")
+public class PositionIndexRebuildRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(PositionIndexRebuildRunner.class);
+
+    private final PositionIndexLogic positionIndexLogic;
+
+    public PositionIndexRebuildRunner(PositionIndexLogic positionIndexLogic) {
+        this.positionIndexLogic = positionIndexLogic;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        positionIndexLogic.rebuild();
+        log.info("Rebuilt the position index in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
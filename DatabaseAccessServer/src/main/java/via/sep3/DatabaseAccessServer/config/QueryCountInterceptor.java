@@ -0,0 +1,79 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the SQL statements of a request once it completes. A streamed body runs as a callable on another
+ * thread and the request is dispatched again afterwards, so the count lives in a request attribute and is bound
+ * to each of those threads. Requests that go async any other way, like the server-sent event feed, do their
+ * reads on threads of their own and are not recorded.
+ */
+public class QueryCountInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    private static final String COUNT_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".count";
+    private static final String CALLABLE_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".callable";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AtomicInteger count = (AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE);
+        if (count == null) {
+            count = new AtomicInteger();
+            request.setAttribute(COUNT_ATTRIBUTE, count);
+            WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(COUNT_ATTRIBUTE, this);
+        }
+        QueryCountingStatementInspector.bind(count);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountingStatementInspector.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryCountingStatementInspector.unbind();
+        AtomicInteger count = (AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE);
+        if (count == null || request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(CALLABLE_ATTRIBUTE) == null) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements prepared while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(count.get());
+    }
+
+    // Runs on the thread of the callable
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        request.setAttribute(CALLABLE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        QueryCountingStatementInspector.bind((AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryCountingStatementInspector.unbind();
+    }
+}
@@ -0,0 +1,28 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares into the counter bound to the current thread, so they can be
+ * reported per request. A request that goes async binds its counter on each thread that works on it.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = ThreadLocal.withInitial(AtomicInteger::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get().incrementAndGet();
+        return sql;
+    }
+
+    public static void bind(AtomicInteger count) {
+        COUNT.set(count);
+    }
+
+    public static void unbind() {
+        COUNT.remove();
+    }
+}
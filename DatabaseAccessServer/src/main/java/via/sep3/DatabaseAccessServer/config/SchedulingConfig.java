@@ -0,0 +1,14 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * The archiving job is the only scheduled task, so there is no scheduler thread without it.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "games.archive.enabled", havingValue = "true")
+public class SchedulingConfig {
+}
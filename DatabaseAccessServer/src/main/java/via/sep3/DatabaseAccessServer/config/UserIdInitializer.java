@@ -0,0 +1,135 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Users used to be keyed by email, and games referenced their players through three email
+ * columns. Moves an existing database over to numeric user ids before Hibernate looks at the
+ * schema, because Hibernate cannot add a primary key to a table that has rows.
+ * With Flyway this is migration 4, see {@link UserIdMigration}.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "false")
+public class UserIdInitializer {
+    private static final Logger log = LoggerFactory.getLogger(UserIdInitializer.class);
+    private static final String[] PLAYER_COLUMNS = {"creator", "player_white", "player_black"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserIdInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrateEmailKeys() {
+        if (isKeyedByEmail(jdbcTemplate)) {
+            // On PostgreSQL the DDL is rolled back as well, so a move that fails halfway leaves the
+            // database keyed by email and is tried again on the next start
+            new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()))
+                    .executeWithoutResult(status -> migrate(jdbcTemplate));
+            log.info("Moved users and games from email keys to user ids");
+        }
+    }
+
+    static boolean isKeyedByEmail(JdbcTemplate jdbcTemplate) {
+        return hasColumn(jdbcTemplate, "users", "email") && !hasColumn(jdbcTemplate, "users", "user_id");
+    }
+
+    static void migrate(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("create sequence users_numbering");
+        jdbcTemplate.execute("alter table users add column user_id integer");
+        jdbcTemplate.update("update users set user_id = nextval('users_numbering')");
+        jdbcTemplate.execute("drop sequence users_numbering");
+        // Hibernate takes the block of 50 ids that ends at the value it gets, so the first one starts after the numbered users
+        Long maxUserId = jdbcTemplate.queryForObject("select coalesce(max(user_id), 0) from users", Long.class);
+        jdbcTemplate.execute("create sequence users_seq start with " + (maxUserId + 50) + " increment by 50");
+
+        for (String column : PLAYER_COLUMNS) {
+            jdbcTemplate.execute("alter table games add column " + column + "_id integer");
+            jdbcTemplate.update("update games set " + column + "_id = (select u.user_id from users u where u.email = games." + column + ")");
+        }
+        for (String foreignKey : foreignKeysToUsers(jdbcTemplate)) {
+            jdbcTemplate.execute("alter table games drop constraint \"" + foreignKey + "\"");
+        }
+        for (String column : PLAYER_COLUMNS) {
+            jdbcTemplate.execute("drop index if exists idx_games_" + column);
+            jdbcTemplate.execute("alter table games drop column " + column);
+        }
+
+        jdbcTemplate.execute("alter table users drop constraint \"" + primaryKey(jdbcTemplate, "users") + "\"");
+        jdbcTemplate.execute("alter table users alter column user_id set not null");
+        jdbcTemplate.execute("alter table users add constraint users_pkey primary key (user_id)");
+        for (String column : PLAYER_COLUMNS) {
+            jdbcTemplate.execute("alter table games add constraint fk_games_" + column + " foreign key (" + column + "_id) references users (user_id)");
+            jdbcTemplate.execute("create index idx_games_" + column + " on games (" + column + "_id, game_id)");
+        }
+    }
+
+    static boolean hasColumn(JdbcTemplate jdbcTemplate, String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table), identifier(metaData, column))) {
+                return columns.next();
+            }
+        }));
+    }
+
+    // Their names depend on whether Hibernate or the baseline migration created them. They are
+    // quoted when dropped, because generated names are not always in the case the database folds to.
+    private static List<String> foreignKeysToUsers(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            List<String> names = new ArrayList<>();
+            try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(), identifier(metaData, "games"))) {
+                while (keys.next()) {
+                    if (keys.getString("PKTABLE_NAME").equalsIgnoreCase("users") && !names.contains(keys.getString("FK_NAME"))) {
+                        names.add(keys.getString("FK_NAME"));
+                    }
+                }
+            }
+            return names;
+        });
+    }
+
+    private static String primaryKey(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet keys = metaData.getPrimaryKeys(connection.getCatalog(), connection.getSchema(), identifier(metaData, table))) {
+                if (!keys.next()) {
+                    throw new SQLException("No primary key on " + table);
+                }
+                return keys.getString("PK_NAME");
+            }
+        });
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+
+    // Runs the initializer before the entity manager factory, which would otherwise update the schema first
+    @Component
+    @ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "false")
+    static class EntityManagerFactoryDependsOnUserIdInitializer extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnUserIdInitializer() {
+            super(UserIdInitializer.class);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration 4, after the SQL migrations in {@code db/migration}: what {@link UserIdInitializer}
+ * does when Hibernate manages the schema.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "true")
+public class UserIdMigration implements JavaMigration {
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("4");
+    }
+
+    @Override
+    public String getDescription() {
+        return "key users by user id";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    // A database that Hibernate had already moved over is baselined before this migration
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (UserIdInitializer.isKeyedByEmail(jdbcTemplate)) {
+            UserIdInitializer.migrate(jdbcTemplate);
+        }
+    }
+}
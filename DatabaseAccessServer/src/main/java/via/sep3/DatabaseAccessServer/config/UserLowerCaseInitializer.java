@@ -0,0 +1,41 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Fills the lower-cased emails and usernames that the unique constraints on users are on for
+ * accounts stored before they existed. With Flyway this is part of migration 3.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "false")
+public class UserLowerCaseInitializer {
+    private static final Logger log = LoggerFactory.getLogger(UserLowerCaseInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The entity manager factory is only injected so that Hibernate has added the columns first.
+    public UserLowerCaseInitializer(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void fillLowerCaseColumns() {
+        try {
+            int updated = jdbcTemplate.update("update users set email_lower = lower(email), username_lower = lower(username) "
+                    + "where email_lower is null or username_lower is null");
+            if (updated > 0) {
+                log.info("Filled lower-cased email and username of {} users", updated);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Users that only differ in case have to be merged before they are unique regardless of case", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package via.sep3.DatabaseAccessServer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+
+/**
+ * One-off job that recomputes {@code user_stats}, counters and ratings, from the games table for
+ * data that was stored before they existed. Start the server once with
+ * {@code --user-stats.rebuild=true} while no games are being created.
+ */
+@Component
+@ConditionalOnProperty(name = "user-stats.rebuild", havingValue = "true")
+public class UserStatsRebuildRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(UserStatsRebuildRunner.class);
+
+    private final UserStatsLogic userStatsLogic;
+
+    public UserStatsRebuildRunner(UserStatsLogic userStatsLogic) {
+        this.userStatsLogic = userStatsLogic;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        userStatsLogic.rebuild();
+        log.info("Rebuilt user stats in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
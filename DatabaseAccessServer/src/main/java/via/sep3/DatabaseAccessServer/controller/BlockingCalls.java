@@ -0,0 +1,74 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Runs the JPA based logic for the reactive handlers. There are only as many threads as JDBC
+ * connections, because more threads would just wait for a connection; further calls queue up
+ * here and are rejected with 503 once the queue is full.
+ */
+@Component
+@Profile("reactive")
+class BlockingCalls {
+    private static final int PAGE_SIZE = 1000;
+
+    private final Scheduler scheduler;
+
+    BlockingCalls(@Value("${spring.datasource.hikari.maximumPoolSize}") int primaryPoolSize,
+                  @Value("${replica.datasource.hikari.maximumPoolSize}") int replicaPoolSize,
+                  @Value("${reactive.blocking.queue-size:10000}") int queueSize) {
+        this.scheduler = Schedulers.newBoundedElastic(primaryPoolSize + replicaPoolSize, queueSize, "jdbc");
+    }
+
+    @PreDestroy
+    void dispose() {
+        scheduler.dispose();
+    }
+
+    <T> Mono<T> call(Callable<T> callable) {
+        return Mono.fromCallable(callable)
+                .subscribeOn(scheduler)
+                .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onErrorMap(RejectedExecutionException.class, e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending requests"));
+    }
+
+    // Streams a keyset paginated listing one page at a time, so a slow client only holds one page.
+    <T> Flux<T> pages(Map<String, String> params, Function<Map<String, String>, Iterable<T>> fetch, Function<T, String> key) {
+        Map<String, String> first = new HashMap<>(params);
+        first.remove("stream");
+        first.put("limit", String.valueOf(PAGE_SIZE));
+        return call(() -> toList(fetch.apply(first)))
+                .expand(page -> {
+                    if (page.size() < PAGE_SIZE) {
+                        return Mono.empty();
+                    }
+                    Map<String, String> next = new HashMap<>(first);
+                    next.put("after", key.apply(page.get(page.size() - 1)));
+                    return call(() -> toList(fetch.apply(next)));
+                })
+                .flatMapIterable(Function.identity());
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,73 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import via.sep3.DatabaseAccessServer.domain.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static via.sep3.DatabaseAccessServer.config.BinaryJsonConfig.APPLICATION_SMILE;
+
+/**
+ * Strong ETags and Cache-Control values for {@code GET /games/{gameId}} and {@code GET /users/{username}}.
+ * <p>
+ * A stored game never changes, so its ETag is derived from the id alone and an If-None-Match
+ * with that tag is answered before the game is looked up; {@code *} only once the game is found. A user's ETag is a digest of its
+ * fields, which come from the user cache. JSON, Smile and CBOR are different representations,
+ * so each gets its own tag.
+ */
+final class ETags {
+    // Bump when the JSON of a game changes, so clients stop reusing what they cached
+    private static final int GAME_REPRESENTATION = 2;
+
+    static final String GAME_CACHE_CONTROL = "private, max-age=31536000, immutable";
+    static final String USER_CACHE_CONTROL = "private, no-cache";
+
+    private ETags() {
+    }
+
+    static String game(int gameId, List<MediaType> accept) {
+        return "\"game-" + GAME_REPRESENTATION + "-" + gameId + format(accept) + "\"";
+    }
+
+    static String user(User user, List<MediaType> accept) {
+        String fields = user.getEmail() + '\0' + user.getUsername() + '\0' + user.getPassword() + '\0' + user.getRole();
+        return "\"user-" + DigestUtils.md5DigestAsHex(fields.getBytes(StandardCharsets.UTF_8)) + format(accept) + "\"";
+    }
+
+    // Picks the format the same way the controllers' produces lists are matched: the most specific,
+    // highest quality accepted type decides, and JSON wins ties because it is listed first
+    private static String format(List<MediaType> accept) {
+        List<MediaType> sorted = new ArrayList<>(accept);
+        MediaType.sortBySpecificityAndQuality(sorted);
+        for (MediaType type : sorted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (type.isCompatibleWith(APPLICATION_SMILE)) {
+                return "-smile";
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "-cbor";
+            }
+        }
+        return "";
+    }
+
+    // If-None-Match uses the weak comparison, so W/ in front of a tag is ignored
+    static boolean matches(List<String> ifNoneMatch, String etag) {
+        return ifNoneMatch.contains("*") || matchesTag(ifNoneMatch, etag);
+    }
+
+    // Leaves out *, which also matches games that do not exist, for answering before the lookup
+    static boolean matchesTag(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            if (etag.equals(candidate.startsWith("W/") ? candidate.substring(2) : candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
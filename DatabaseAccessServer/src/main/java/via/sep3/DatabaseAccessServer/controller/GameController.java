@@ -1,48 +1,136 @@
 package via.sep3.DatabaseAccessServer.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import via.sep3.DatabaseAccessServer.application.Logic.GameJournal;
 import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
 import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameReceiptDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
 import via.sep3.DatabaseAccessServer.domain.Game;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static via.sep3.DatabaseAccessServer.config.BinaryJsonConfig.APPLICATION_SMILE_VALUE;
+
 @RestController
+@Profile("!reactive")
 public class GameController {
 
     private final GameLogic gameLogic;
 
+    private final ObjectMapper objectMapper;
+
+    private final ObjectProvider<GameJournal> gameJournal;
 
-    public GameController(GameLogic gameLogic) {
+
+    public GameController(GameLogic gameLogic, ObjectMapper objectMapper, ObjectProvider<GameJournal> gameJournal) {
         this.gameLogic = gameLogic;
+        this.objectMapper = objectMapper;
+        this.gameJournal = gameJournal;
     }
 
 
     @PostMapping(path = "/games",
-            produces = MediaType.APPLICATION_JSON_VALUE)
-    public Game create(@RequestBody GameCreationDto dto) {
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<?> create(@RequestBody GameCreationDto dto,
+                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            dto.setIdempotencyKey(idempotencyKey);
+        }
+        try {
+            GameJournal journal = gameJournal.getIfAvailable();
+            if (journal != null && journal.append(dto)) {
+                return ResponseEntity.accepted().body(new GameReceiptDto(dto.getIdempotencyKey()));
+            }
+            return ResponseEntity.ok(gameLogic.create(dto));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping(path = "/games/batch",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public List<GameSummaryDto> createAll(@RequestBody List<GameCreationDto> dtos) {
         try {
-            return gameLogic.create(dto);
+            return gameLogic.createAll(dtos);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
     @GetMapping(path = "/games",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Iterable<GameSummaryDto> getAll(@RequestParam Map<String, String> allRequestParams) {
+        try {
+            return gameLogic.getAll(allRequestParams);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/games", params = "stream=true",
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public Iterable<Game> getAll(@RequestParam Map<String, String> allRequestParams) {
-        return gameLogic.getAll(allRequestParams);
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam Map<String, String> allRequestParams) {
+        validateSearch(allRequestParams);
+        return JsonArrayStreaming.<GameSummaryDto>of(objectMapper, action -> gameLogic.streamAll(allRequestParams, action));
+    }
+
+    @GetMapping(path = "/games.pgn", produces = PgnStreaming.APPLICATION_PGN_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll(@RequestParam Map<String, String> allRequestParams) {
+        validateSearch(allRequestParams);
+        return PgnStreaming.of("games.pgn", action -> gameLogic.streamAllForExport(allRequestParams, action));
+    }
+
+    @GetMapping(path = "/users/{username}/games.pgn", produces = PgnStreaming.APPLICATION_PGN_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByUsername(@PathVariable("username") String username, @RequestParam Map<String, String> allRequestParams) {
+        Map<String, String> params = new HashMap<>(allRequestParams);
+        params.put("player", username);
+        validateSearch(params);
+        return PgnStreaming.of(username + ".pgn", action -> gameLogic.streamAllForExport(params, action));
     }
 
     @GetMapping(path = "/games/{gameId}",
-            produces = MediaType.APPLICATION_JSON_VALUE)
-    public Optional<Game> getByGameId(@PathVariable("gameId") int gameId) {
-        return gameLogic.getByGameId(gameId);
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<Game> getByGameId(@PathVariable("gameId") int gameId, @RequestHeader HttpHeaders headers) {
+        String etag = ETags.game(gameId, headers.getAccept());
+        if (ETags.matchesTag(headers.getIfNoneMatch(), etag)) {
+            return notModified(etag);
+        }
+        return gameLogic.getByGameId(gameId)
+                .map(game -> ETags.matches(headers.getIfNoneMatch(), etag) ? notModified(etag)
+                        : ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).header(HttpHeaders.CACHE_CONTROL, ETags.GAME_CACHE_CONTROL).body(game))
+                .orElseGet(() -> ResponseEntity.ok().build());
     }
 
+    @GetMapping(path = "/games/{gameId}/moves",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Optional<GameMovesDto> getMoves(@PathVariable("gameId") int gameId) {
+        return gameLogic.getMoves(gameId);
+    }
 
+    // A streamed body only runs once the 200 is sent, so the parameters are checked before
+    private void validateSearch(Map<String, String> allRequestParams) {
+        try {
+            gameLogic.validateSearch(allRequestParams);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Game> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).header(HttpHeaders.CACHE_CONTROL, ETags.GAME_CACHE_CONTROL).build();
+    }
 }
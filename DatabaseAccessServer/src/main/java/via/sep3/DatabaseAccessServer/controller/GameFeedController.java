@@ -0,0 +1,210 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code GET /games/feed} sends every stored game as a server-sent event, with the game id as the
+ * event id. A client that reconnects with {@code Last-Event-ID}, or asks for {@code ?after=}, first
+ * gets the games it missed: from the {@link GameFeed} when that game is still in it, otherwise from
+ * the database. A client that falls so far behind that the feed overwrites games it has not read
+ * yet is disconnected and resumes the same way.
+ * <p>
+ * A subscriber is written to from a pooled thread, and only while it has something to send, so a
+ * slow one holds up neither the writers nor the other subscribers.
+ */
+@RestController
+@Profile("!reactive")
+public class GameFeedController {
+    private static final int BATCH_SIZE = 256;
+    private static final int PAGE_SIZE = 1000;
+
+    private final GameLogic gameLogic;
+    private final GameFeed gameFeed;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService heartbeats;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public GameFeedController(GameLogic gameLogic, GameFeed gameFeed,
+                              @Value("${games.feed.heartbeat:15s}") Duration heartbeat) {
+        this.gameLogic = gameLogic;
+        this.gameFeed = gameFeed;
+        this.executor = Executors.newCachedThreadPool(runnable -> daemon(runnable, "game-feed"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "game-feed-heartbeat"));
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(Subscriber::heartbeat),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeats.shutdownNow();
+        executor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @GetMapping(path = "/games/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                           @RequestParam(value = "after", required = false) String after) {
+        Integer afterGameId;
+        try {
+            afterGameId = afterGameId(lastEventId, after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        // Never times out, dead connections show up when the next event or heartbeat is sent
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, afterGameId);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        gameFeed.addListener(subscriber.listener);
+        executor.execute(subscriber);
+        return emitter;
+    }
+
+    // A reconnecting EventSource sends the id of the last event it got, which wins over the parameter
+    static Integer afterGameId(String lastEventId, String after) {
+        String value = lastEventId != null ? lastEventId : after;
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("After must be a number");
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final Integer afterGameId;
+        private final Runnable listener = this::wake;
+        // Set while a run is scheduled or running, the first run is scheduled by feed()
+        private final AtomicBoolean scheduled = new AtomicBoolean(true);
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+        private GameFeed.Cursor cursor;
+
+        private Subscriber(SseEmitter emitter, Integer afterGameId) {
+            this.emitter = emitter;
+            this.afterGameId = afterGameId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (cursor == null) {
+                    cursor = open();
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                for (List<GameSummaryDto> games = cursor.poll(BATCH_SIZE); !games.isEmpty(); games = cursor.poll(BATCH_SIZE)) {
+                    for (GameSummaryDto game : games) {
+                        send(game);
+                    }
+                }
+                if (cursor.isBehind()) {
+                    close();
+                    emitter.complete();
+                }
+            } catch (IOException e) {
+                // The client is gone, the container reports it through onError
+                close();
+            } catch (RuntimeException e) {
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+                // Games stored while this run was finishing did not get it scheduled again
+                if (!closed && (heartbeatDue || cursor.hasNext())) {
+                    wake();
+                }
+            }
+        }
+
+        private GameFeed.Cursor open() throws IOException {
+            Optional<GameFeed.Cursor> resumed = afterGameId == null ? Optional.of(gameFeed.tail()) : gameFeed.resume(afterGameId);
+            if (resumed.isPresent()) {
+                return resumed.get();
+            }
+            // The games stored while the database is read are in both, the feed leaves those out.
+            // Read a page at a time, so that no connection is held while a slow client is written to.
+            GameFeed.Cursor tail = gameFeed.tail();
+            Set<Integer> sent = new HashSet<>();
+            String after = String.valueOf(afterGameId);
+            List<GameSummaryDto> page;
+            do {
+                page = new ArrayList<>();
+                gameLogic.getAll(Map.of("after", after, "limit", String.valueOf(PAGE_SIZE))).forEach(page::add);
+                for (GameSummaryDto game : page) {
+                    send(game);
+                    sent.add(game.getGameId());
+                    after = String.valueOf(game.getGameId());
+                }
+            } while (page.size() == PAGE_SIZE);
+            tail.skip(sent);
+            return tail;
+        }
+
+        private void send(GameSummaryDto game) throws IOException {
+            emitter.send(SseEmitter.event().id(String.valueOf(game.getGameId())).data(game, MediaType.APPLICATION_JSON));
+        }
+
+        private void heartbeat() {
+            heartbeatDue = true;
+            wake();
+        }
+
+        private void wake() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+            }
+        }
+
+        private void close() {
+            closed = true;
+            gameFeed.removeListener(listener);
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import io.grpc.stub.StreamObserver;
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.grpc.Game;
+import via.sep3.DatabaseAccessServer.grpc.GameCreation;
+import via.sep3.DatabaseAccessServer.grpc.GameIdRequest;
+import via.sep3.DatabaseAccessServer.grpc.GameMoves;
+import via.sep3.DatabaseAccessServer.grpc.GameServiceGrpc;
+import via.sep3.DatabaseAccessServer.grpc.GameSummaries;
+import via.sep3.DatabaseAccessServer.grpc.GameSummary;
+import via.sep3.DatabaseAccessServer.grpc.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class GameGrpcService extends GameServiceGrpc.GameServiceImplBase {
+    // Same limit as GameLogic.createAll; one more is kept so that the logic rejects the batch
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final GameLogic gameLogic;
+
+    public GameGrpcService(GameLogic gameLogic) {
+        this.gameLogic = gameLogic;
+    }
+
+    @Override
+    public void create(GameCreation request, StreamObserver<Game> responseObserver) {
+        GrpcCalls.unary(responseObserver, () -> gameLogic.create(GrpcMapper.toGameCreationDto(request)), GrpcMapper::toMessage);
+    }
+
+    @Override
+    public StreamObserver<GameCreation> createAll(StreamObserver<GameSummaries> responseObserver) {
+        List<GameCreationDto> dtos = new ArrayList<>();
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(GameCreation value) {
+                if (dtos.size() <= MAX_BATCH_SIZE) {
+                    dtos.add(GrpcMapper.toGameCreationDto(value));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                dtos.clear();
+            }
+
+            @Override
+            public void onCompleted() {
+                GrpcCalls.unary(responseObserver, () -> gameLogic.createAll(dtos), GameGrpcService::toSummaries);
+            }
+        };
+    }
+
+    @Override
+    public void getAll(Query request, StreamObserver<GameSummary> responseObserver) {
+        GrpcCalls.<GameSummaryDto, GameSummary>pages(responseObserver, request.getParamsMap(), gameLogic::getAll, game -> String.valueOf(game.getGameId()), GrpcMapper::toMessage);
+    }
+
+    @Override
+    public void getByGameId(GameIdRequest request, StreamObserver<Game> responseObserver) {
+        GrpcCalls.optional(responseObserver, () -> gameLogic.getByGameId(request.getGameId()), GrpcMapper::toMessage);
+    }
+
+    @Override
+    public void getMoves(GameIdRequest request, StreamObserver<GameMoves> responseObserver) {
+        GrpcCalls.optional(responseObserver, () -> gameLogic.getMoves(request.getGameId()), GrpcMapper::toMessage);
+    }
+
+    private static GameSummaries toSummaries(List<GameSummaryDto> games) {
+        GameSummaries.Builder builder = GameSummaries.newBuilder();
+        games.forEach(game -> builder.addGames(GrpcMapper.toMessage(game)));
+        return builder.build();
+    }
+}
@@ -0,0 +1,110 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Maps the logic results to gRPC the way the controllers map them to HTTP.
+final class GrpcCalls {
+    private static final int PAGE_SIZE = 1000;
+
+    private GrpcCalls() {
+    }
+
+    static <T, M> void unary(StreamObserver<M> observer, Supplier<T> call, Function<T, M> toMessage) {
+        optional(observer, () -> Optional.of(call.get()), toMessage);
+    }
+
+    static <T, M> void optional(StreamObserver<M> observer, Supplier<Optional<T>> call, Function<T, M> toMessage) {
+        M message;
+        try {
+            Optional<T> result = call.get();
+            if (result.isEmpty()) {
+                observer.onError(Status.NOT_FOUND.asRuntimeException());
+                return;
+            }
+            message = toMessage.apply(result.get());
+        } catch (IllegalArgumentException e) {
+            observer.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        observer.onNext(message);
+        observer.onCompleted();
+    }
+
+    // Sends a keyset paginated listing a page at a time, like BlockingCalls.pages. Nothing here waits
+    // for the client: the onReady handler sends while the client is ready and fetches the next page
+    // when one is used up, so no cursor or transaction is held while the client is slow. The handler
+    // runs on the same serializing executor as the rest of the call, which is why it must not block.
+    static <T, M> void pages(StreamObserver<M> observer, Map<String, String> params, Function<Map<String, String>, Iterable<T>> fetch,
+                             Function<T, String> key, Function<T, M> toMessage) {
+        ServerCallStreamObserver<M> call = (ServerCallStreamObserver<M>) observer;
+        Pages<T, M> pages = new Pages<>(call, params, fetch, key, toMessage);
+        call.setOnReadyHandler(pages::drain);
+        call.setOnCancelHandler(() -> pages.done = true);
+        // The first onReady may have come before the handler was set
+        pages.drain();
+    }
+
+    private static final class Pages<T, M> {
+        private final ServerCallStreamObserver<M> call;
+        private final Map<String, String> params;
+        private final Function<Map<String, String>, Iterable<T>> fetch;
+        private final Function<T, String> key;
+        private final Function<T, M> toMessage;
+        private Iterator<T> page = Collections.emptyIterator();
+        private boolean lastPage;
+        private boolean done;
+
+        private Pages(ServerCallStreamObserver<M> call, Map<String, String> params, Function<Map<String, String>, Iterable<T>> fetch,
+                      Function<T, String> key, Function<T, M> toMessage) {
+            this.call = call;
+            this.params = new HashMap<>(params);
+            this.params.remove("stream");
+            this.params.put("limit", String.valueOf(PAGE_SIZE));
+            this.fetch = fetch;
+            this.key = key;
+            this.toMessage = toMessage;
+        }
+
+        private void drain() {
+            while (!done && call.isReady()) {
+                if (page.hasNext()) {
+                    T element = page.next();
+                    if (!page.hasNext()) {
+                        params.put("after", key.apply(element));
+                    }
+                    call.onNext(toMessage.apply(element));
+                } else if (lastPage) {
+                    done = true;
+                    call.onCompleted();
+                } else {
+                    fetchPage();
+                }
+            }
+        }
+
+        private void fetchPage() {
+            List<T> elements = new ArrayList<>(PAGE_SIZE);
+            try {
+                fetch.apply(params).forEach(elements::add);
+            } catch (IllegalArgumentException e) {
+                done = true;
+                call.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+                return;
+            }
+            lastPage = elements.size() < PAGE_SIZE;
+            page = elements.iterator();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserLoginDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.grpc.GameCreation;
+import via.sep3.DatabaseAccessServer.grpc.GameMoves;
+import via.sep3.DatabaseAccessServer.grpc.GameSummary;
+import via.sep3.DatabaseAccessServer.grpc.UserLogin;
+
+// Converts between the domain classes and the generated messages of database.proto. Unset enums are null.
+final class GrpcMapper {
+
+    private GrpcMapper() {
+    }
+
+    static User toUser(via.sep3.DatabaseAccessServer.grpc.User message) {
+        return new User(message.getEmail(), message.getUsername(), message.getPassword(), message.getRole());
+    }
+
+    static via.sep3.DatabaseAccessServer.grpc.User toMessage(User user) {
+        return via.sep3.DatabaseAccessServer.grpc.User.newBuilder()
+                .setEmail(nullToEmpty(user.getEmail()))
+                .setUsername(nullToEmpty(user.getUsername()))
+                .setPassword(nullToEmpty(user.getPassword()))
+                .setRole(nullToEmpty(user.getRole()))
+                .build();
+    }
+
+    static UserLoginDto toUserLoginDto(UserLogin message) {
+        return new UserLoginDto(message.getEmail(), message.getPassword());
+    }
+
+    static GameCreationDto toGameCreationDto(GameCreation message) {
+        GameCreationDto dto = new GameCreationDto(message.getCreator(), message.getPlayerWhite(), message.getPlayerBlack(),
+                toGameType(message.getGameType()), message.getTimeControlDurationSeconds(), message.getTimeControlIncrementSeconds(),
+                toGameOutcome(message.getGameOutcome()));
+        if (message.getMovesCount() > 0) {
+            dto.setMoves(message.getMovesList());
+        }
+        if (message.getMoveClocksMillisCount() > 0) {
+            dto.setMoveClocksMillis(message.getMoveClocksMillisList());
+        }
+        return dto;
+    }
+
+    static via.sep3.DatabaseAccessServer.grpc.Game toMessage(Game game) {
+        return via.sep3.DatabaseAccessServer.grpc.Game.newBuilder()
+                .setGameId(game.getGameId())
+                .setCreator(toMessage(game.getCreator()))
+                .setPlayerWhite(toMessage(game.getPlayerWhite()))
+                .setPlayerBlack(toMessage(game.getPlayerBlack()))
+                .setGameType(toMessage(game.getGameType()))
+                .setTimeControlDurationSeconds(game.getTimeControlDurationSeconds())
+                .setTimeControlIncrementSeconds(game.getTimeControlIncrementSeconds())
+                .setGameOutcome(toMessage(game.getGameOutcome()))
+                .build();
+    }
+
+    static GameSummary toMessage(GameSummaryDto game) {
+        return GameSummary.newBuilder()
+                .setGameId(game.getGameId())
+                .setCreator(game.getCreator())
+                .setPlayerWhite(game.getPlayerWhite())
+                .setPlayerBlack(game.getPlayerBlack())
+                .setGameType(toMessage(game.getGameType()))
+                .setTimeControlDurationSeconds(game.getTimeControlDurationSeconds())
+                .setTimeControlIncrementSeconds(game.getTimeControlIncrementSeconds())
+                .setGameOutcome(toMessage(game.getGameOutcome()))
+                .build();
+    }
+
+    static GameMoves toMessage(GameMovesDto moves) {
+        return GameMoves.newBuilder()
+                .setGameId(moves.getGameId())
+                .addAllMoves(moves.getMoves())
+                .addAllMoveClocksMillis(moves.getMoveClocksMillis())
+                .build();
+    }
+
+    private static GameType toGameType(via.sep3.DatabaseAccessServer.grpc.GameType gameType) {
+        return switch (gameType) {
+            case AI -> GameType.AI;
+            case FRIEND -> GameType.FRIEND;
+            case RANDOM -> GameType.RANDOM;
+            default -> null;
+        };
+    }
+
+    private static via.sep3.DatabaseAccessServer.grpc.GameType toMessage(GameType gameType) {
+        return gameType == null ? via.sep3.DatabaseAccessServer.grpc.GameType.GAME_TYPE_UNSPECIFIED : via.sep3.DatabaseAccessServer.grpc.GameType.valueOf(gameType.name());
+    }
+
+    private static GameOutcome toGameOutcome(via.sep3.DatabaseAccessServer.grpc.GameOutcome gameOutcome) {
+        return switch (gameOutcome) {
+            case WHITE -> GameOutcome.WHITE;
+            case BLACK -> GameOutcome.BLACK;
+            case DRAW -> GameOutcome.DRAW;
+            default -> null;
+        };
+    }
+
+    private static via.sep3.DatabaseAccessServer.grpc.GameOutcome toMessage(GameOutcome gameOutcome) {
+        return gameOutcome == null ? via.sep3.DatabaseAccessServer.grpc.GameOutcome.GAME_OUTCOME_UNSPECIFIED : via.sep3.DatabaseAccessServer.grpc.GameOutcome.valueOf(gameOutcome.name());
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
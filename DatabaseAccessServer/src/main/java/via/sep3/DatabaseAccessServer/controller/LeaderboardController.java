@@ -0,0 +1,34 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.LeaderboardEntryDto;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+public class LeaderboardController {
+
+    private final UserStatsLogic userStatsLogic;
+
+    public LeaderboardController(UserStatsLogic userStatsLogic) {
+        this.userStatsLogic = userStatsLogic;
+    }
+
+    @GetMapping(path = "/leaderboard",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<LeaderboardEntryDto> getLeaderboard(@RequestParam(value = "offset", defaultValue = "0") int offset, @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            return userStatsLogic.getLeaderboard(offset, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
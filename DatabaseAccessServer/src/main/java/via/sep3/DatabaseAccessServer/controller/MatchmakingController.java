@@ -0,0 +1,55 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.MatchmakingLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.MatchmakingRequestDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.MatchmakingTicketDto;
+
+import java.util.Optional;
+
+/**
+ * Tickets are polled until they are matched, a waiting ticket that is not polled for
+ * matchmaking.poll-timeout is cancelled. Matched and cancelled tickets can still be read for
+ * matchmaking.ticket-retention.
+ */
+@RestController
+@Profile("!reactive")
+public class MatchmakingController {
+
+    private final MatchmakingLogic matchmakingLogic;
+
+    public MatchmakingController(MatchmakingLogic matchmakingLogic) {
+        this.matchmakingLogic = matchmakingLogic;
+    }
+
+    @PostMapping(path = "/matchmaking",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public MatchmakingTicketDto enqueue(@RequestBody MatchmakingRequestDto dto) {
+        try {
+            return matchmakingLogic.enqueue(dto);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/matchmaking/{ticketId}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Optional<MatchmakingTicketDto> getTicket(@PathVariable("ticketId") long ticketId) {
+        return matchmakingLogic.getTicket(ticketId);
+    }
+
+    @DeleteMapping(path = "/matchmaking/{ticketId}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Optional<MatchmakingTicketDto> cancel(@PathVariable("ticketId") long ticketId) {
+        return matchmakingLogic.cancel(ticketId);
+    }
+}
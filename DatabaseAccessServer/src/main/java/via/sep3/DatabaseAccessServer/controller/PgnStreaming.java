@@ -0,0 +1,167 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameExportDto;
+import via.sep3.DatabaseAccessServer.domain.MoveCodec;
+import via.sep3.DatabaseAccessServer.domain.Position;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes games as PGN, one at a time straight to the response. The moves are replayed on a
+ * {@link Position} for their algebraic notation; a game stops at the first move that does not fit
+ * the board, like in the position index.
+ */
+final class PgnStreaming {
+    static final String APPLICATION_PGN_VALUE = "application/x-chess-pgn";
+    static final MediaType APPLICATION_PGN = MediaType.parseMediaType(APPLICATION_PGN_VALUE);
+    private static final int LINE_LENGTH = 80;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd").withZone(ZoneOffset.UTC);
+
+    private PgnStreaming() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> of(String filename, Consumer<Consumer<GameExportDto>> source) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            source.accept(game -> {
+                try {
+                    write(writer, game);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_PGN)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(filename))
+                .body(body);
+    }
+
+    static String attachment(String filename) {
+        return ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString();
+    }
+
+    static String toPgn(GameExportDto game) {
+        StringWriter writer = new StringWriter(1024);
+        try {
+            write(writer, game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    static void write(Writer writer, GameExportDto game) throws IOException {
+        String result = result(game.getGameOutcome());
+        tag(writer, "Event", event(game));
+        tag(writer, "Site", "?");
+        tag(writer, "Date", game.getPlayedAt() == null ? "????.??.??" : DATE.format(game.getPlayedAt()));
+        tag(writer, "Round", "-");
+        tag(writer, "White", game.getPlayerWhite());
+        tag(writer, "Black", game.getPlayerBlack());
+        tag(writer, "Result", result);
+        tag(writer, "TimeControl", game.getTimeControlDurationSeconds() > 0
+                ? game.getTimeControlDurationSeconds() + "+" + game.getTimeControlIncrementSeconds() : "-");
+        tag(writer, "GameId", String.valueOf(game.getGameId()));
+        writer.write('\n');
+
+        Movetext movetext = new Movetext(writer);
+        byte[] moves = game.getMoves();
+        if (moves != null) {
+            List<Long> clocks = game.getMoveClocks() == null ? List.of() : MoveCodec.decodeClocks(game.getMoveClocks());
+            Position position = Position.initial();
+            for (int ply = 0; 2 * ply + 1 < moves.length; ply++) {
+                String san;
+                try {
+                    san = position.playSan(((moves[2 * ply] & 0xFF) << 8) | (moves[2 * ply + 1] & 0xFF));
+                } catch (IllegalArgumentException e) {
+                    break;
+                }
+                // After a comment black's move gets its number again, a number stays on the line of its move
+                if (ply % 2 == 0) {
+                    movetext.token((ply / 2 + 1) + ". " + san);
+                } else if (!clocks.isEmpty()) {
+                    movetext.token((ply / 2 + 1) + "... " + san);
+                } else {
+                    movetext.token(san);
+                }
+                if (ply < clocks.size()) {
+                    movetext.token("{[%clk " + clock(clocks.get(ply)) + "]}");
+                }
+            }
+        }
+        movetext.token(result);
+        writer.write("\n\n");
+    }
+
+    private static void tag(Writer writer, String name, String value) throws IOException {
+        String escaped = value == null ? "?" : value.replace("\\", "\\\\").replace("\"", "\\\"");
+        writer.write('[' + name + " \"" + escaped + "\"]\n");
+    }
+
+    private static String event(GameExportDto game) {
+        if (game.getGameType() == null) {
+            return "?";
+        }
+        return switch (game.getGameType()) {
+            case AI -> "Game against the computer";
+            case FRIEND -> "Game between friends";
+            case RANDOM -> "Game against a random opponent";
+        };
+    }
+
+    private static String result(GameOutcome outcome) {
+        if (outcome == null) {
+            return "*";
+        }
+        return switch (outcome) {
+            case WHITE -> "1-0";
+            case BLACK -> "0-1";
+            case DRAW -> "1/2-1/2";
+        };
+    }
+
+    private static String clock(long millis) {
+        long seconds = Math.max(0, millis) / 1000;
+        return String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+
+    // Keeps lines within the 80 characters the PGN export format asks for
+    private static final class Movetext {
+        private final Writer writer;
+        private int column;
+
+        Movetext(Writer writer) {
+            this.writer = writer;
+        }
+
+        void token(String token) throws IOException {
+            if (column > 0 && column + 1 + token.length() > LINE_LENGTH) {
+                writer.write('\n');
+                column = 0;
+            } else if (column > 0) {
+                writer.write(' ');
+                column++;
+            }
+            writer.write(token);
+            column += token.length();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.PositionIndexLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.PositionStatsDto;
+
+@RestController
+@Profile("!reactive")
+public class PositionController {
+
+    private final PositionIndexLogic positionIndexLogic;
+
+    public PositionController(PositionIndexLogic positionIndexLogic) {
+        this.positionIndexLogic = positionIndexLogic;
+    }
+
+    @GetMapping(path = "/positions",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public PositionStatsDto search(@RequestParam("fen") String fen, @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        try {
+            return positionIndexLogic.search(fen, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.PositionIndexLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.repository.ReactiveGameRepository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static via.sep3.DatabaseAccessServer.controller.ReactiveUserHandler.intParam;
+import static via.sep3.DatabaseAccessServer.controller.ReactiveUserHandler.json;
+
+@Component
+@Profile("reactive")
+public class ReactiveGameHandler {
+    private static final int FEED_BATCH_SIZE = 256;
+
+    private final GameLogic gameLogic;
+
+    private final PositionIndexLogic positionIndexLogic;
+
+    private final ReactiveGameRepository reactiveGameRepository;
+
+    private final BlockingCalls blockingCalls;
+
+    private final GameFeed gameFeed;
+
+    private final Duration feedHeartbeat;
+
+    ReactiveGameHandler(GameLogic gameLogic, PositionIndexLogic positionIndexLogic, ReactiveGameRepository reactiveGameRepository, BlockingCalls blockingCalls,
+                        GameFeed gameFeed, @Value("${games.feed.heartbeat:15s}") Duration feedHeartbeat) {
+        this.gameLogic = gameLogic;
+        this.positionIndexLogic = positionIndexLogic;
+        this.reactiveGameRepository = reactiveGameRepository;
+        this.blockingCalls = blockingCalls;
+        this.gameFeed = gameFeed;
+        this.feedHeartbeat = feedHeartbeat;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return json(request.bodyToMono(GameCreationDto.class)
+                .flatMap(dto -> blockingCalls.call(() -> gameLogic.create(dto))));
+    }
+
+    public Mono<ServerResponse> createAll(ServerRequest request) {
+        return json(request.bodyToMono(new ParameterizedTypeReference<List<GameCreationDto>>() {})
+                .flatMap(dtos -> blockingCalls.call(() -> gameLogic.createAll(dtos))));
+    }
+
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        return json(blockingCalls.call(() -> gameLogic.getAll(request.queryParams().toSingleValueMap())));
+    }
+
+    public Mono<ServerResponse> streamAll(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(blockingCalls.pages(request.queryParams().toSingleValueMap(), gameLogic::getAll, game -> String.valueOf(game.getGameId())), GameSummaryDto.class);
+    }
+
+    public Mono<ServerResponse> exportPgn(ServerRequest request) {
+        Map<String, String> params = new HashMap<>(request.queryParams().toSingleValueMap());
+        String filename = "games.pgn";
+        if (request.pathVariables().containsKey("username")) {
+            params.put("player", request.pathVariable("username"));
+            filename = request.pathVariable("username") + ".pgn";
+        }
+        return ServerResponse.ok().contentType(PgnStreaming.APPLICATION_PGN)
+                .header(HttpHeaders.CONTENT_DISPOSITION, PgnStreaming.attachment(filename))
+                .body(blockingCalls.pages(params, gameLogic::getAllForExport, game -> String.valueOf(game.getGameId())).map(PgnStreaming::toPgn), String.class);
+    }
+
+    public Mono<ServerResponse> getByGameId(ServerRequest request) {
+        int gameId = gameId(request);
+        String etag = ETags.game(gameId, List.of());
+        List<String> ifNoneMatch = request.headers().asHttpHeaders().getIfNoneMatch();
+        if (ETags.matchesTag(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        // Archived games are only found through the blocking logic
+        return reactiveGameRepository.findByGameId(gameId)
+                .switchIfEmpty(Mono.defer(() -> blockingCalls.call(() -> gameLogic.getByGameId(gameId).orElse(null))))
+                .flatMap(game -> ETags.matches(ifNoneMatch, etag) ? notModified(etag)
+                        : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).eTag(etag).header(HttpHeaders.CACHE_CONTROL, ETags.GAME_CACHE_CONTROL).bodyValue(game))
+                .switchIfEmpty(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> getMoves(ServerRequest request) {
+        int gameId = gameId(request);
+        return json(reactiveGameRepository.findMovesByGameId(gameId)
+                .switchIfEmpty(Mono.defer(() -> blockingCalls.call(() -> gameLogic.getMoves(gameId).orElse(null)))));
+    }
+
+    public Mono<ServerResponse> searchPositions(ServerRequest request) {
+        String fen = request.queryParam("fen").orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "fen is required"));
+        int limit = intParam(request, "limit", 20);
+        return json(blockingCalls.call(() -> positionIndexLogic.search(fen, limit)));
+    }
+
+    // See GameFeedController, the missed games come from the feed or else from the database
+    public Mono<ServerResponse> feed(ServerRequest request) {
+        Integer afterGameId;
+        try {
+            afterGameId = GameFeedController.afterGameId(request.headers().firstHeader("Last-Event-ID"), request.queryParam("after").orElse(null));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Flux<ServerSentEvent<GameSummaryDto>> events = Flux.defer(() -> {
+            Optional<GameFeed.Cursor> resumed = afterGameId == null ? Optional.of(gameFeed.tail()) : gameFeed.resume(afterGameId);
+            if (resumed.isPresent()) {
+                return live(resumed.get());
+            }
+            GameFeed.Cursor tail = gameFeed.tail();
+            Set<Integer> sent = ConcurrentHashMap.newKeySet();
+            return blockingCalls.pages(Map.of("after", String.valueOf(afterGameId)), gameLogic::getAll, game -> String.valueOf(game.getGameId()))
+                    .doOnNext(game -> sent.add(game.getGameId()))
+                    .map(ReactiveGameHandler::event)
+                    .concatWith(Flux.defer(() -> {
+                        tail.skip(sent);
+                        return live(tail);
+                    }));
+        });
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, new ParameterizedTypeReference<ServerSentEvent<GameSummaryDto>>() {});
+    }
+
+    // Only emits what was requested, a slow client leaves the games in the feed until it falls behind
+    private Flux<ServerSentEvent<GameSummaryDto>> live(GameFeed.Cursor cursor) {
+        return Flux.create(sink -> {
+            AtomicBoolean heartbeatDue = new AtomicBoolean();
+            Runnable drain = () -> {
+                synchronized (cursor) {
+                    if (sink.requestedFromDownstream() > 0 && heartbeatDue.compareAndSet(true, false)) {
+                        sink.next(ServerSentEvent.<GameSummaryDto>builder().comment("heartbeat").build());
+                    }
+                    long requested;
+                    while ((requested = sink.requestedFromDownstream()) > 0) {
+                        List<GameSummaryDto> games = cursor.poll((int) Math.min(requested, FEED_BATCH_SIZE));
+                        if (games.isEmpty()) {
+                            break;
+                        }
+                        games.forEach(game -> sink.next(event(game)));
+                    }
+                    if (cursor.isBehind()) {
+                        sink.complete();
+                    }
+                }
+            };
+            Disposable heartbeats = Flux.interval(feedHeartbeat).subscribe(tick -> {
+                heartbeatDue.set(true);
+                drain.run();
+            });
+            gameFeed.addListener(drain);
+            sink.onRequest(requested -> drain.run());
+            sink.onDispose(() -> {
+                gameFeed.removeListener(drain);
+                heartbeats.dispose();
+            });
+        });
+    }
+
+    private static Mono<ServerResponse> notModified(String etag) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).header(HttpHeaders.CACHE_CONTROL, ETags.GAME_CACHE_CONTROL).build();
+    }
+
+    private static ServerSentEvent<GameSummaryDto> event(GameSummaryDto game) {
+        return ServerSentEvent.builder(game).id(String.valueOf(game.getGameId())).build();
+    }
+
+    private static int gameId(ServerRequest request) {
+        try {
+            return Integer.parseInt(request.pathVariable("gameId"));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "gameId must be a number");
+        }
+    }
+}
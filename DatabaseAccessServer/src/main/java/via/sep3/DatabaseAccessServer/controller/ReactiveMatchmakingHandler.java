@@ -0,0 +1,49 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.MatchmakingLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.MatchmakingRequestDto;
+
+import static via.sep3.DatabaseAccessServer.controller.ReactiveUserHandler.json;
+
+@Component
+@Profile("reactive")
+public class ReactiveMatchmakingHandler {
+
+    private final MatchmakingLogic matchmakingLogic;
+
+    private final BlockingCalls blockingCalls;
+
+    ReactiveMatchmakingHandler(MatchmakingLogic matchmakingLogic, BlockingCalls blockingCalls) {
+        this.matchmakingLogic = matchmakingLogic;
+        this.blockingCalls = blockingCalls;
+    }
+
+    // Looking the user up can go to the database
+    public Mono<ServerResponse> enqueue(ServerRequest request) {
+        return json(request.bodyToMono(MatchmakingRequestDto.class)
+                .flatMap(dto -> blockingCalls.call(() -> matchmakingLogic.enqueue(dto))));
+    }
+
+    public Mono<ServerResponse> getTicket(ServerRequest request) {
+        return json(Mono.justOrEmpty(matchmakingLogic.getTicket(ticketId(request))));
+    }
+
+    public Mono<ServerResponse> cancel(ServerRequest request) {
+        return json(Mono.justOrEmpty(matchmakingLogic.cancel(ticketId(request))));
+    }
+
+    private static long ticketId(ServerRequest request) {
+        try {
+            return Long.parseLong(request.pathVariable("ticketId"));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ticket id");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * The same endpoints as {@link UserController}, {@link GameController}, {@link LeaderboardController},
+ * {@link PositionController}, {@link MatchmakingController} and {@link GameFeedController}, served by
+ * WebFlux when the reactive profile is active.
+ * <p>
+ * Only GET /games/{gameId} and GET /games/{gameId}/moves read through R2DBC. Everything else, including
+ * the list, search, stream and export reads, is the blocking JPA logic run on {@link BlockingCalls}.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> routes(ReactiveUserHandler users, ReactiveGameHandler games, ReactiveMatchmakingHandler matchmaking) {
+        RequestPredicate stream = queryParam("stream", "true"::equals);
+        return route()
+                .POST("/users", users::create)
+                .POST("/users/batch", users::createAll)
+                .POST("/login", users::login)
+                .GET("/users", stream, users::streamAll)
+                .GET("/users", queryParam("search", search -> true), users::search)
+                .GET("/users", users::getAll)
+                .GET("/users/{username}/stats", users::getStatsByUsername)
+                .GET("/users/{username}/rank", users::getRankByUsername)
+                .GET("/users/{username}/games.pgn", games::exportPgn)
+                .GET("/users/{username}", users::getByUsername)
+                .GET("/leaderboard", users::getLeaderboard)
+                .POST("/games/batch", games::createAll)
+                .POST("/games", games::create)
+                .GET("/games.pgn", games::exportPgn)
+                .GET("/games", stream, games::streamAll)
+                .GET("/games", games::getAll)
+                .GET("/games/feed", games::feed)
+                .GET("/games/{gameId}/moves", games::getMoves)
+                .GET("/games/{gameId}", games::getByGameId)
+                .GET("/positions", games::searchPositions)
+                .POST("/matchmaking", matchmaking::enqueue)
+                .GET("/matchmaking/{ticketId}", matchmaking::getTicket)
+                .DELETE("/matchmaking/{ticketId}", matchmaking::cancel)
+                .build();
+    }
+}
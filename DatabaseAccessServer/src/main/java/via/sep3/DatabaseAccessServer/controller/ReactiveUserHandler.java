@@ -0,0 +1,111 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserLoginDto;
+import via.sep3.DatabaseAccessServer.domain.User;
+
+import java.util.List;
+
+@Component
+@Profile("reactive")
+public class ReactiveUserHandler {
+
+    private final UserLogic userLogic;
+
+    private final UserStatsLogic userStatsLogic;
+
+    private final BlockingCalls blockingCalls;
+
+    ReactiveUserHandler(UserLogic userLogic, UserStatsLogic userStatsLogic, BlockingCalls blockingCalls) {
+        this.userLogic = userLogic;
+        this.userStatsLogic = userStatsLogic;
+        this.blockingCalls = blockingCalls;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        Mono<User> created = request.bodyToMono(User.class)
+                .flatMap(user -> blockingCalls.call(() -> userLogic.create(user)));
+        return json(created);
+    }
+
+    public Mono<ServerResponse> createAll(ServerRequest request) {
+        return json(request.bodyToMono(new ParameterizedTypeReference<List<User>>() {})
+                .flatMap(users -> blockingCalls.call(() -> userLogic.createAll(users))));
+    }
+
+    public Mono<ServerResponse> login(ServerRequest request) {
+        Mono<User> user = request.bodyToMono(UserLoginDto.class)
+                .flatMap(dto -> blockingCalls.call(() -> userLogic.login(dto)));
+        return json(user);
+    }
+
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        return json(blockingCalls.call(() -> userLogic.getAll(request.queryParams().toSingleValueMap())));
+    }
+
+    public Mono<ServerResponse> streamAll(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(blockingCalls.pages(request.queryParams().toSingleValueMap(), userLogic::getAll, User::getEmail), User.class);
+    }
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        String query = request.queryParam("search").orElseThrow();
+        int limit = intParam(request, "limit", 10);
+        return json(blockingCalls.call(() -> userLogic.search(query, limit)));
+    }
+
+    public Mono<ServerResponse> getByUsername(ServerRequest request) {
+        String username = request.pathVariable("username");
+        return blockingCalls.call(() -> userLogic.getByUsername(username).orElse(null))
+                .flatMap(user -> {
+                    String etag = ETags.user(user, List.of());
+                    if (ETags.matches(request.headers().asHttpHeaders().getIfNoneMatch(), etag)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).header(HttpHeaders.CACHE_CONTROL, ETags.USER_CACHE_CONTROL).build();
+                    }
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).eTag(etag).header(HttpHeaders.CACHE_CONTROL, ETags.USER_CACHE_CONTROL).bodyValue(user);
+                })
+                .switchIfEmpty(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> getStatsByUsername(ServerRequest request) {
+        String username = request.pathVariable("username");
+        return json(blockingCalls.call(() -> userStatsLogic.getByUsername(username).orElse(null)));
+    }
+
+    public Mono<ServerResponse> getRankByUsername(ServerRequest request) {
+        return json(Mono.justOrEmpty(userStatsLogic.getRank(request.pathVariable("username"))));
+    }
+
+    public Mono<ServerResponse> getLeaderboard(ServerRequest request) {
+        int offset = intParam(request, "offset", 0);
+        int limit = intParam(request, "limit", 100);
+        try {
+            return json(Mono.just(userStatsLogic.getLeaderboard(offset, limit)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    static Mono<ServerResponse> json(Mono<?> body) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(body.cast(Object.class), Object.class);
+    }
+
+    static int intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be a number");
+        }
+    }
+}
@@ -1,29 +1,48 @@
 package via.sep3.DatabaseAccessServer.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.LeaderboardEntryDto;
 import via.sep3.DatabaseAccessServer.domain.DTOs.UserLoginDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserSearchResultDto;
 import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.UserStats;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static via.sep3.DatabaseAccessServer.config.BinaryJsonConfig.APPLICATION_SMILE_VALUE;
+
 @RestController
+@Profile("!reactive")
 @Component
 public class UserController {
 
     private final UserLogic userLogic;
 
-    public UserController(UserLogic userLogic) {
+    private final UserStatsLogic userStatsLogic;
+
+    private final ObjectMapper objectMapper;
+
+    public UserController(UserLogic userLogic, UserStatsLogic userStatsLogic, ObjectMapper objectMapper) {
         this.userLogic = userLogic;
+        this.userStatsLogic = userStatsLogic;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(path = "/users",
-            produces = MediaType.APPLICATION_JSON_VALUE)
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public User create(@RequestBody User user) {
         try {
             return userLogic.create(user);
@@ -32,8 +51,18 @@ public class UserController {
         }
     }
 
+    @PostMapping(path = "/users/batch",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public List<User> createAll(@RequestBody List<User> users) {
+        try {
+            return userLogic.createAll(users);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PostMapping(path = "/login",
-            produces = MediaType.APPLICATION_JSON_VALUE)
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public User login(@RequestBody UserLoginDto user) {
         try {
             return userLogic.login(user);
@@ -43,14 +72,54 @@ public class UserController {
     }
 
     @GetMapping(path = "/users",
-            produces = MediaType.APPLICATION_JSON_VALUE)
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public Iterable<User> getAll(@RequestParam Map<String, String> allRequestParams) {
-        return userLogic.getAll(allRequestParams);
+        try {
+            return userLogic.getAll(allRequestParams);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
-    @GetMapping(path = "/users/{username}",
+    @GetMapping(path = "/users", params = "stream=true",
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public Optional<User> getByUsername(@PathVariable("username") String username) {
-        return userLogic.getByUsername(username);
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam Map<String, String> allRequestParams) {
+        return JsonArrayStreaming.<User>of(objectMapper, action -> userLogic.streamAll(allRequestParams, action));
+    }
+
+    @GetMapping(path = "/users", params = "search",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public List<UserSearchResultDto> search(@RequestParam("search") String query, @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            return userLogic.search(query, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping(path = "/users/{username}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<User> getByUsername(@PathVariable("username") String username, @RequestHeader HttpHeaders headers) {
+        return userLogic.getByUsername(username)
+                .map(user -> {
+                    String etag = ETags.user(user, headers.getAccept());
+                    if (ETags.matches(headers.getIfNoneMatch(), etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).header(HttpHeaders.CACHE_CONTROL, ETags.USER_CACHE_CONTROL).<User>build();
+                    }
+                    return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).header(HttpHeaders.CACHE_CONTROL, ETags.USER_CACHE_CONTROL).body(user);
+                })
+                .orElseGet(() -> ResponseEntity.ok().build());
+    }
+
+    @GetMapping(path = "/users/{username}/stats",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Optional<UserStats> getStatsByUsername(@PathVariable("username") String username) {
+        return userStatsLogic.getByUsername(username);
+    }
+
+    @GetMapping(path = "/users/{username}/rank",
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Optional<LeaderboardEntryDto> getRankByUsername(@PathVariable("username") String username) {
+        return userStatsLogic.getRank(username);
     }
 }
@@ -0,0 +1,56 @@
+package via.sep3.DatabaseAccessServer.controller;
+
+import io.grpc.stub.StreamObserver;
+import org.springframework.stereotype.Component;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserSearchResultDto;
+import via.sep3.DatabaseAccessServer.grpc.Query;
+import via.sep3.DatabaseAccessServer.grpc.User;
+import via.sep3.DatabaseAccessServer.grpc.UserLogin;
+import via.sep3.DatabaseAccessServer.grpc.UserSearchRequest;
+import via.sep3.DatabaseAccessServer.grpc.UserSearchResults;
+import via.sep3.DatabaseAccessServer.grpc.UserServiceGrpc;
+import via.sep3.DatabaseAccessServer.grpc.UsernameRequest;
+
+import java.util.List;
+
+@Component
+public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+
+    private final UserLogic userLogic;
+
+    public UserGrpcService(UserLogic userLogic) {
+        this.userLogic = userLogic;
+    }
+
+    @Override
+    public void create(User request, StreamObserver<User> responseObserver) {
+        GrpcCalls.unary(responseObserver, () -> userLogic.create(GrpcMapper.toUser(request)), GrpcMapper::toMessage);
+    }
+
+    @Override
+    public void login(UserLogin request, StreamObserver<User> responseObserver) {
+        GrpcCalls.unary(responseObserver, () -> userLogic.login(GrpcMapper.toUserLoginDto(request)), GrpcMapper::toMessage);
+    }
+
+    @Override
+    public void getAll(Query request, StreamObserver<User> responseObserver) {
+        GrpcCalls.<via.sep3.DatabaseAccessServer.domain.User, User>pages(responseObserver, request.getParamsMap(), userLogic::getAll, via.sep3.DatabaseAccessServer.domain.User::getEmail, GrpcMapper::toMessage);
+    }
+
+    @Override
+    public void search(UserSearchRequest request, StreamObserver<UserSearchResults> responseObserver) {
+        GrpcCalls.unary(responseObserver, () -> userLogic.search(request.getSearch(), request.getLimit() == 0 ? 10 : request.getLimit()), UserGrpcService::toSearchResults);
+    }
+
+    @Override
+    public void getByUsername(UsernameRequest request, StreamObserver<User> responseObserver) {
+        GrpcCalls.optional(responseObserver, () -> userLogic.getByUsername(request.getUsername()), GrpcMapper::toMessage);
+    }
+
+    private static UserSearchResults toSearchResults(List<UserSearchResultDto> results) {
+        UserSearchResults.Builder builder = UserSearchResults.newBuilder();
+        results.forEach(result -> builder.addUsernames(result.getUsername()));
+        return builder.build();
+    }
+}
@@ -0,0 +1,24 @@
+package via.sep3.DatabaseAccessServer.domain;
+
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+import java.time.Instant;
+
+/**
+ * A game as it is kept in the archive, with the players referenced by email like in the games table.
+ */
+public record ArchivedGame(int gameId, Instant playedAt, String creator, String playerWhite, String playerBlack,
+                           GameType gameType, int timeControlDurationSeconds, int timeControlIncrementSeconds,
+                           GameOutcome gameOutcome, byte[] moves, byte[] moveClocks, String idempotencyKey) {
+
+    public Game toGame(User creator, User playerWhite, User playerBlack) {
+        Game game = new Game(creator, playerWhite, playerBlack, gameType, timeControlDurationSeconds, timeControlIncrementSeconds, gameOutcome);
+        game.setGameId(gameId);
+        game.setPlayedAt(playedAt);
+        game.setMoves(moves);
+        game.setMoveClocks(moveClocks);
+        game.setIdempotencyKey(idempotencyKey);
+        return game;
+    }
+}
@@ -8,6 +8,8 @@ import javax.persistence.Enumerated;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import java.time.Instant;
+import java.util.List;
 
 public class GameCreationDto {
 
@@ -23,6 +25,14 @@ public class GameCreationDto {
 
     private GameOutcome gameOutcome;
 
+    private List<String> moves;
+
+    private List<Long> moveClocksMillis;
+
+    private String idempotencyKey;
+
+    private Instant playedAt;
+
     public GameCreationDto(String creator, String playerWhite, String playerBlack, GameType gameType, int timeControlDurationSeconds, int timeControlIncrementSeconds, GameOutcome gameOutcome) {
         this.creator = creator;
         this.playerWhite = playerWhite;
@@ -88,4 +98,36 @@ public class GameCreationDto {
     public void setTimeControlIncrementSeconds(int timeControlIncrementSeconds) {
         this.timeControlIncrementSeconds = timeControlIncrementSeconds;
     }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<String> moves) {
+        this.moves = moves;
+    }
+
+    public List<Long> getMoveClocksMillis() {
+        return moveClocksMillis;
+    }
+
+    public void setMoveClocksMillis(List<Long> moveClocksMillis) {
+        this.moveClocksMillis = moveClocksMillis;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Instant getPlayedAt() {
+        return playedAt;
+    }
+
+    public void setPlayedAt(Instant playedAt) {
+        this.playedAt = playedAt;
+    }
 }
@@ -0,0 +1,77 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+import java.time.Instant;
+
+/**
+ * Everything the PGN export writes for a game. Moves and clocks stay in the encoding of
+ * {@link via.sep3.DatabaseAccessServer.domain.MoveCodec}, they are replayed straight from it.
+ */
+public class GameExportDto {
+
+    private final int gameId;
+    private final Instant playedAt;
+    private final String playerWhite;
+    private final String playerBlack;
+    private final GameType gameType;
+    private final int timeControlDurationSeconds;
+    private final int timeControlIncrementSeconds;
+    private final GameOutcome gameOutcome;
+    private final byte[] moves;
+    private final byte[] moveClocks;
+
+    public GameExportDto(int gameId, Instant playedAt, String playerWhite, String playerBlack, GameType gameType, int timeControlDurationSeconds, int timeControlIncrementSeconds, GameOutcome gameOutcome, byte[] moves, byte[] moveClocks) {
+        this.gameId = gameId;
+        this.playedAt = playedAt;
+        this.playerWhite = playerWhite;
+        this.playerBlack = playerBlack;
+        this.gameType = gameType;
+        this.timeControlDurationSeconds = timeControlDurationSeconds;
+        this.timeControlIncrementSeconds = timeControlIncrementSeconds;
+        this.gameOutcome = gameOutcome;
+        this.moves = moves;
+        this.moveClocks = moveClocks;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public Instant getPlayedAt() {
+        return playedAt;
+    }
+
+    public String getPlayerWhite() {
+        return playerWhite;
+    }
+
+    public String getPlayerBlack() {
+        return playerBlack;
+    }
+
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    public int getTimeControlDurationSeconds() {
+        return timeControlDurationSeconds;
+    }
+
+    public int getTimeControlIncrementSeconds() {
+        return timeControlIncrementSeconds;
+    }
+
+    public GameOutcome getGameOutcome() {
+        return gameOutcome;
+    }
+
+    public byte[] getMoves() {
+        return moves;
+    }
+
+    public byte[] getMoveClocks() {
+        return moveClocks;
+    }
+}
@@ -0,0 +1,30 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+import via.sep3.DatabaseAccessServer.domain.MoveCodec;
+
+import java.util.List;
+
+public class GameMovesDto {
+
+    private final int gameId;
+    private final List<String> moves;
+    private final List<Long> moveClocksMillis;
+
+    public GameMovesDto(int gameId, byte[] moves, byte[] moveClocks) {
+        this.gameId = gameId;
+        this.moves = moves == null ? List.of() : MoveCodec.decodeMoves(moves);
+        this.moveClocksMillis = moveClocks == null ? List.of() : MoveCodec.decodeClocks(moveClocks);
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    public List<Long> getMoveClocksMillis() {
+        return moveClocksMillis;
+    }
+}
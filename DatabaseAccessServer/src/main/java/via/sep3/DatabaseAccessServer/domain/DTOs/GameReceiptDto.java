@@ -0,0 +1,13 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+public class GameReceiptDto {
+    private final String idempotencyKey;
+
+    public GameReceiptDto(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
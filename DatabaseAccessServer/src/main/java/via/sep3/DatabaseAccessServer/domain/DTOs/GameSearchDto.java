@@ -0,0 +1,91 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.domain.enums.PlayerColor;
+
+public class GameSearchDto {
+
+    private User player;
+    private PlayerColor playerColor;
+    private User creator;
+    private GameOutcome gameOutcome;
+    private GameType gameType;
+    private Integer minTimeControlDurationSeconds;
+    private Integer maxTimeControlDurationSeconds;
+    private Integer after;
+    private boolean descending;
+
+    public User getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(User player) {
+        this.player = player;
+    }
+
+    public PlayerColor getPlayerColor() {
+        return playerColor;
+    }
+
+    public void setPlayerColor(PlayerColor playerColor) {
+        this.playerColor = playerColor;
+    }
+
+    public User getCreator() {
+        return creator;
+    }
+
+    public void setCreator(User creator) {
+        this.creator = creator;
+    }
+
+    public GameOutcome getGameOutcome() {
+        return gameOutcome;
+    }
+
+    public void setGameOutcome(GameOutcome gameOutcome) {
+        this.gameOutcome = gameOutcome;
+    }
+
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    public void setGameType(GameType gameType) {
+        this.gameType = gameType;
+    }
+
+    public Integer getMinTimeControlDurationSeconds() {
+        return minTimeControlDurationSeconds;
+    }
+
+    public void setMinTimeControlDurationSeconds(Integer minTimeControlDurationSeconds) {
+        this.minTimeControlDurationSeconds = minTimeControlDurationSeconds;
+    }
+
+    public Integer getMaxTimeControlDurationSeconds() {
+        return maxTimeControlDurationSeconds;
+    }
+
+    public void setMaxTimeControlDurationSeconds(Integer maxTimeControlDurationSeconds) {
+        this.maxTimeControlDurationSeconds = maxTimeControlDurationSeconds;
+    }
+
+    public Integer getAfter() {
+        return after;
+    }
+
+    public void setAfter(Integer after) {
+        this.after = after;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+}
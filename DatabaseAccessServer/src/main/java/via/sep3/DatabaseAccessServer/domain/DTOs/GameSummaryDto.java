@@ -0,0 +1,64 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+public class GameSummaryDto {
+
+    private final int gameId;
+    private final String creator;
+    private final String playerWhite;
+    private final String playerBlack;
+    private final GameType gameType;
+    private final int timeControlDurationSeconds;
+    private final int timeControlIncrementSeconds;
+    private final GameOutcome gameOutcome;
+
+    public GameSummaryDto(int gameId, String creator, String playerWhite, String playerBlack, GameType gameType, int timeControlDurationSeconds, int timeControlIncrementSeconds, GameOutcome gameOutcome) {
+        this.gameId = gameId;
+        this.creator = creator;
+        this.playerWhite = playerWhite;
+        this.playerBlack = playerBlack;
+        this.gameType = gameType;
+        this.timeControlDurationSeconds = timeControlDurationSeconds;
+        this.timeControlIncrementSeconds = timeControlIncrementSeconds;
+        this.gameOutcome = gameOutcome;
+    }
+
+    public static GameSummaryDto from(Game game) {
+        return new GameSummaryDto(game.getGameId(), game.getCreator().getUsername(), game.getPlayerWhite().getUsername(), game.getPlayerBlack().getUsername(), game.getGameType(), game.getTimeControlDurationSeconds(), game.getTimeControlIncrementSeconds(), game.getGameOutcome());
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public String getCreator() {
+        return creator;
+    }
+
+    public String getPlayerWhite() {
+        return playerWhite;
+    }
+
+    public String getPlayerBlack() {
+        return playerBlack;
+    }
+
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    public int getTimeControlDurationSeconds() {
+        return timeControlDurationSeconds;
+    }
+
+    public int getTimeControlIncrementSeconds() {
+        return timeControlIncrementSeconds;
+    }
+
+    public GameOutcome getGameOutcome() {
+        return gameOutcome;
+    }
+}
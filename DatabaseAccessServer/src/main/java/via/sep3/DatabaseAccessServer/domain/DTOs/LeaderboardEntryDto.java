@@ -0,0 +1,25 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+public class LeaderboardEntryDto {
+    private final int rank;
+    private final String username;
+    private final long rating;
+
+    public LeaderboardEntryDto(int rank, String username, double rating) {
+        this.rank = rank;
+        this.username = username;
+        this.rating = Math.round(rating);
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long getRating() {
+        return rating;
+    }
+}
@@ -0,0 +1,40 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+public class MatchmakingRequestDto {
+    private String username;
+    private int timeControlDurationSeconds;
+    private int timeControlIncrementSeconds;
+
+    public MatchmakingRequestDto() {
+    }
+
+    public MatchmakingRequestDto(String username, int timeControlDurationSeconds, int timeControlIncrementSeconds) {
+        this.username = username;
+        this.timeControlDurationSeconds = timeControlDurationSeconds;
+        this.timeControlIncrementSeconds = timeControlIncrementSeconds;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public int getTimeControlDurationSeconds() {
+        return timeControlDurationSeconds;
+    }
+
+    public void setTimeControlDurationSeconds(int timeControlDurationSeconds) {
+        this.timeControlDurationSeconds = timeControlDurationSeconds;
+    }
+
+    public int getTimeControlIncrementSeconds() {
+        return timeControlIncrementSeconds;
+    }
+
+    public void setTimeControlIncrementSeconds(int timeControlIncrementSeconds) {
+        this.timeControlIncrementSeconds = timeControlIncrementSeconds;
+    }
+}
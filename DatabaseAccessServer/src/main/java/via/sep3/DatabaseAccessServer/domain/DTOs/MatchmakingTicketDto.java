@@ -0,0 +1,54 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+import via.sep3.DatabaseAccessServer.domain.enums.MatchmakingStatus;
+
+/**
+ * A place in the matchmaking queue. The players are only set once the ticket is matched.
+ */
+public class MatchmakingTicketDto {
+    private final long ticketId;
+    private final String username;
+    private final MatchmakingStatus status;
+    private final int timeControlDurationSeconds;
+    private final int timeControlIncrementSeconds;
+    private final String playerWhite;
+    private final String playerBlack;
+
+    public MatchmakingTicketDto(long ticketId, String username, MatchmakingStatus status, int timeControlDurationSeconds, int timeControlIncrementSeconds, String playerWhite, String playerBlack) {
+        this.ticketId = ticketId;
+        this.username = username;
+        this.status = status;
+        this.timeControlDurationSeconds = timeControlDurationSeconds;
+        this.timeControlIncrementSeconds = timeControlIncrementSeconds;
+        this.playerWhite = playerWhite;
+        this.playerBlack = playerBlack;
+    }
+
+    public long getTicketId() {
+        return ticketId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public MatchmakingStatus getStatus() {
+        return status;
+    }
+
+    public int getTimeControlDurationSeconds() {
+        return timeControlDurationSeconds;
+    }
+
+    public int getTimeControlIncrementSeconds() {
+        return timeControlIncrementSeconds;
+    }
+
+    public String getPlayerWhite() {
+        return playerWhite;
+    }
+
+    public String getPlayerBlack() {
+        return playerBlack;
+    }
+}
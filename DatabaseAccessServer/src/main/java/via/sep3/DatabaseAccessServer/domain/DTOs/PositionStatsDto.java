@@ -0,0 +1,39 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+import java.util.List;
+
+public class PositionStatsDto {
+    private final long games;
+    private final long whiteWins;
+    private final long blackWins;
+    private final long draws;
+    private final List<Integer> gameIds;
+
+    public PositionStatsDto(long games, long whiteWins, long blackWins, long draws, List<Integer> gameIds) {
+        this.games = games;
+        this.whiteWins = whiteWins;
+        this.blackWins = blackWins;
+        this.draws = draws;
+        this.gameIds = gameIds;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWhiteWins() {
+        return whiteWins;
+    }
+
+    public long getBlackWins() {
+        return blackWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public List<Integer> getGameIds() {
+        return gameIds;
+    }
+}
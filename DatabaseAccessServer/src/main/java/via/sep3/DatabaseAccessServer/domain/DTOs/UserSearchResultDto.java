@@ -0,0 +1,13 @@
+package via.sep3.DatabaseAccessServer.domain.DTOs;
+
+public class UserSearchResultDto {
+    private final String username;
+
+    public UserSearchResultDto(String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,34 @@
+package via.sep3.DatabaseAccessServer.domain;
+
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+
+/**
+ * Plain Elo with a fixed K-factor. Ratings are kept as doubles so that replaying the same games
+ * always ends on the same numbers, rounding only happens when they are shown.
+ */
+public final class Elo {
+    public static final double INITIAL_RATING = 1500;
+    static final double K_FACTOR = 32;
+
+    private Elo() {
+    }
+
+    public static void update(UserStats white, UserStats black, GameOutcome outcome) {
+        if (outcome == null) {
+            return;
+        }
+        double whiteScore = switch (outcome) {
+            case WHITE -> 1;
+            case BLACK -> 0;
+            case DRAW -> 0.5;
+        };
+        double whiteExpected = expectedScore(white.getRating(), black.getRating());
+        double change = K_FACTOR * (whiteScore - whiteExpected);
+        white.setRating(white.getRating() + change);
+        black.setRating(black.getRating() - change);
+    }
+
+    static double expectedScore(double rating, double opponentRating) {
+        return 1 / (1 + Math.pow(10, (opponentRating - rating) / 400));
+    }
+}
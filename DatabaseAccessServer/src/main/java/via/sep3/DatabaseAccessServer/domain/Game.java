@@ -1,25 +1,35 @@
 package via.sep3.DatabaseAccessServer.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
 import via.sep3.DatabaseAccessServer.domain.enums.GameType;
 
 import javax.persistence.*;
+import java.time.Instant;
 import java.util.Objects;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+        @Index(name = "idx_games_player_white", columnList = "player_white_id, gameId"),
+        @Index(name = "idx_games_player_black", columnList = "player_black_id, gameId"),
+        @Index(name = "idx_games_creator", columnList = "creator_id, gameId"),
+        @Index(name = "idx_games_type_duration", columnList = "gameType, timeControlDurationSeconds, gameId"),
+        @Index(name = "idx_games_outcome", columnList = "gameOutcome, gameId"),
+        @Index(name = "idx_games_played_at", columnList = "playedAt")
+})
 public class Game {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = 50)
     private int gameId;
-    @ManyToOne
-    @JoinColumn(name="creator", referencedColumnName = "email")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "creator_id", foreignKey = @ForeignKey(name = "fk_games_creator"))
     private User creator;
-    @ManyToOne
-    @JoinColumn(name="playerWhite", referencedColumnName = "email")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_white_id", foreignKey = @ForeignKey(name = "fk_games_player_white"))
     private User playerWhite;
-    @ManyToOne
-    @JoinColumn(name="playerBlack", referencedColumnName = "email")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_black_id", foreignKey = @ForeignKey(name = "fk_games_player_black"))
     private User playerBlack;
     @Enumerated
     private GameType gameType;
@@ -28,6 +38,20 @@ public class Game {
 
     private GameOutcome gameOutcome;
 
+    private Instant playedAt;
+
+    @JsonIgnore
+    @Column(length = 8192)
+    private byte[] moves;
+
+    @JsonIgnore
+    @Column(length = 8192)
+    private byte[] moveClocks;
+
+    @JsonIgnore
+    @Column(unique = true, length = 64)
+    private String idempotencyKey;
+
 
     public Game(){};
 
@@ -106,4 +130,36 @@ public class Game {
     public int getTimeControlIncrementSeconds() {
         return timeControlIncrementSeconds;
     }
+
+    public Instant getPlayedAt() {
+        return playedAt;
+    }
+
+    public void setPlayedAt(Instant playedAt) {
+        this.playedAt = playedAt;
+    }
+
+    public byte[] getMoves() {
+        return moves;
+    }
+
+    public void setMoves(byte[] moves) {
+        this.moves = moves;
+    }
+
+    public byte[] getMoveClocks() {
+        return moveClocks;
+    }
+
+    public void setMoveClocks(byte[] moveClocks) {
+        this.moveClocks = moveClocks;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
 }
@@ -0,0 +1,82 @@
+package via.sep3.DatabaseAccessServer.domain;
+
+import org.springframework.data.domain.Persistable;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One row of the position index: a game passed through the position with this Zobrist hash.
+ * The outcome is copied from the game so the stats of a position can be counted from the index alone.
+ */
+@Entity
+@IdClass(GamePosition.Key.class)
+@Table(name = "game_positions", indexes = {
+        @Index(name = "idx_game_positions_hash", columnList = "hash, gameOutcome, gameId")
+})
+public class GamePosition implements Persistable<GamePosition.Key> {
+    @Id
+    private long hash;
+    @Id
+    private int gameId;
+    private GameOutcome gameOutcome;
+
+    public GamePosition() {
+    }
+
+    public GamePosition(long hash, int gameId, GameOutcome gameOutcome) {
+        this.hash = hash;
+        this.gameId = gameId;
+        this.gameOutcome = gameOutcome;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public GameOutcome getGameOutcome() {
+        return gameOutcome;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(hash, gameId);
+    }
+
+    // Rows are only ever inserted, this saves the select that merge would do for an assigned id
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public static class Key implements Serializable {
+        private long hash;
+        private int gameId;
+
+        public Key() {
+        }
+
+        public Key(long hash, int gameId) {
+            this.hash = hash;
+            this.gameId = gameId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return hash == key.hash && gameId == key.gameId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, gameId);
+        }
+    }
+}
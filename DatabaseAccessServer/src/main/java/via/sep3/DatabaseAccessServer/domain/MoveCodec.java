@@ -0,0 +1,110 @@
+package via.sep3.DatabaseAccessServer.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of a game's moves and clocks.
+ * <p>
+ * Each UCI move takes 16 bits: bits 0-5 are the target square, 6-11 the origin square
+ * (a1 = 0, h8 = 63) and 12-14 the promotion piece. Clocks are the mover's remaining time after
+ * each move, stored as unsigned varints in tenths of a second, so most take 2 bytes.
+ */
+public final class MoveCodec {
+    private static final String PROMOTIONS = " nbrq";
+
+    private MoveCodec() {
+    }
+
+    public static byte[] encodeMoves(List<String> moves) {
+        byte[] encoded = new byte[moves.size() * 2];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = encodeMove(moves.get(i));
+            encoded[2 * i] = (byte) (move >>> 8);
+            encoded[2 * i + 1] = (byte) move;
+        }
+        return encoded;
+    }
+
+    public static List<String> decodeMoves(byte[] encoded) {
+        List<String> moves = new ArrayList<>(encoded.length / 2);
+        for (int i = 0; i + 1 < encoded.length; i += 2) {
+            moves.add(decodeMove(((encoded[i] & 0xFF) << 8) | (encoded[i + 1] & 0xFF)));
+        }
+        return moves;
+    }
+
+    public static int encodeMove(String uci) {
+        if (uci == null || (uci.length() != 4 && uci.length() != 5)) {
+            throw new IllegalArgumentException("Invalid move: " + uci);
+        }
+        int from = square(uci, 0);
+        int to = square(uci, 2);
+        int promotion = 0;
+        if (uci.length() == 5) {
+            promotion = PROMOTIONS.indexOf(Character.toLowerCase(uci.charAt(4)));
+            if (promotion <= 0) {
+                throw new IllegalArgumentException("Invalid move: " + uci);
+            }
+        }
+        return promotion << 12 | from << 6 | to;
+    }
+
+    public static String decodeMove(int move) {
+        StringBuilder uci = new StringBuilder(5);
+        appendSquare(uci, (move >>> 6) & 0x3F);
+        appendSquare(uci, move & 0x3F);
+        int promotion = (move >>> 12) & 0x7;
+        if (promotion > 0) {
+            uci.append(PROMOTIONS.charAt(promotion));
+        }
+        return uci.toString();
+    }
+
+    public static byte[] encodeClocks(List<Long> clockMillis) {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(clockMillis.size() * 2);
+        for (Long millis : clockMillis) {
+            if (millis == null || millis < 0) {
+                throw new IllegalArgumentException("Invalid clock time: " + millis);
+            }
+            long deciseconds = (millis + 50) / 100;
+            while (deciseconds >= 0x80) {
+                encoded.write((int) (deciseconds & 0x7F) | 0x80);
+                deciseconds >>>= 7;
+            }
+            encoded.write((int) deciseconds);
+        }
+        return encoded.toByteArray();
+    }
+
+    public static List<Long> decodeClocks(byte[] encoded) {
+        List<Long> clockMillis = new ArrayList<>(encoded.length / 2);
+        long value = 0;
+        int shift = 0;
+        for (byte b : encoded) {
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                clockMillis.add(value * 100);
+                value = 0;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+        return clockMillis;
+    }
+
+    private static int square(String uci, int offset) {
+        int file = uci.charAt(offset) - 'a';
+        int rank = uci.charAt(offset + 1) - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            throw new IllegalArgumentException("Invalid move: " + uci);
+        }
+        return rank * 8 + file;
+    }
+
+    private static void appendSquare(StringBuilder uci, int square) {
+        uci.append((char) ('a' + square % 8)).append((char) ('1' + square / 8));
+    }
+}
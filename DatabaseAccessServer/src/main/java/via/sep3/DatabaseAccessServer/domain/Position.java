@@ -0,0 +1,327 @@
+package via.sep3.DatabaseAccessServer.domain;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A board that replays stored moves and keeps a 64-bit Zobrist hash of the position.
+ * <p>
+ * Moves are trusted to be legal, only their origin square is checked. The hash covers the
+ * pieces, the side to move, the castling rights and the en passant file, the latter only when a
+ * pawn can actually capture there, so a position reached by different move orders or given as a
+ * FEN hashes the same. Squares are numbered like in {@link MoveCodec}.
+ * <p>
+ * The keys come from a fixed seed because the hashes are stored, changing it means rebuilding
+ * the position index.
+ */
+public final class Position {
+    private static final String PIECES = " PNBRQKpnbrqk";
+    private static final int PAWN = 1, KNIGHT = 2, BISHOP = 3, ROOK = 4, QUEEN = 5, KING = 6, BLACK = 6;
+    private static final int WHITE_KINGSIDE = 1, WHITE_QUEENSIDE = 2, BLACK_KINGSIDE = 4, BLACK_QUEENSIDE = 8;
+    private static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final long[] PIECE_KEYS = new long[12 * 64];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[8];
+    private static final long BLACK_TO_MOVE_KEY;
+    private static final int[] CASTLING_MASKS = new int[64];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x2F6A_9C31_5D84_E0B7L);
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+
+        Arrays.fill(CASTLING_MASKS, 0xF);
+        CASTLING_MASKS[0] = ~WHITE_QUEENSIDE & 0xF;
+        CASTLING_MASKS[4] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE) & 0xF;
+        CASTLING_MASKS[7] = ~WHITE_KINGSIDE & 0xF;
+        CASTLING_MASKS[56] = ~BLACK_QUEENSIDE & 0xF;
+        CASTLING_MASKS[60] = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE) & 0xF;
+        CASTLING_MASKS[63] = ~BLACK_KINGSIDE & 0xF;
+    }
+
+    // 0 is empty, 1-6 white pawn to king, 7-12 black pawn to king
+    private final byte[] board = new byte[64];
+    private boolean whiteToMove;
+    private int castling;
+    private int enPassantSquare = -1;
+    private long hash;
+
+    private Position() {
+    }
+
+    public static Position initial() {
+        return fromFen(START_FEN);
+    }
+
+    public static Position fromFen(String fen) {
+        String[] fields = fen == null ? new String[0] : fen.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        Position position = new Position();
+        String[] ranks = fields[0].split("/", -1);
+        if (ranks.length != 8) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        for (int rank = 0; rank < 8; rank++) {
+            int file = 0;
+            for (char c : ranks[7 - rank].toCharArray()) {
+                if (c >= '1' && c <= '8') {
+                    file += c - '0';
+                } else {
+                    int piece = PIECES.indexOf(c);
+                    if (piece <= 0 || file > 7) {
+                        throw new IllegalArgumentException("Invalid FEN: " + fen);
+                    }
+                    position.board[rank * 8 + file++] = (byte) piece;
+                }
+            }
+            if (file != 8) {
+                throw new IllegalArgumentException("Invalid FEN: " + fen);
+            }
+        }
+
+        if (!fields[1].equals("w") && !fields[1].equals("b")) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        position.whiteToMove = fields[1].equals("w");
+        if (!fields[2].equals("-")) {
+            for (char c : fields[2].toCharArray()) {
+                int right = "KQkq".indexOf(c);
+                if (right < 0) {
+                    throw new IllegalArgumentException("Invalid FEN: " + fen);
+                }
+                position.castling |= 1 << right;
+            }
+        }
+        if (!fields[3].equals("-")) {
+            String square = fields[3];
+            if (square.length() != 2 || square.charAt(0) < 'a' || square.charAt(0) > 'h'
+                    || (square.charAt(1) != '3' && square.charAt(1) != '6')) {
+                throw new IllegalArgumentException("Invalid FEN: " + fen);
+            }
+            position.enPassantSquare = (square.charAt(1) - '1') * 8 + square.charAt(0) - 'a';
+        }
+        position.hash = position.computeHash();
+        return position;
+    }
+
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Plays a move in the 16-bit encoding of {@link MoveCodec}.
+     */
+    public void play(int move) {
+        int from = (move >>> 6) & 0x3F;
+        int to = move & 0x3F;
+        int promotion = (move >>> 12) & 0x7;
+        int piece = board[from];
+        if (piece == 0 || isWhite(piece) != whiteToMove) {
+            throw new IllegalArgumentException("Illegal move: " + MoveCodec.decodeMove(move));
+        }
+        int type = type(piece);
+        int colorOffset = whiteToMove ? 0 : BLACK;
+
+        hash ^= enPassantKey();
+        hash ^= CASTLING_KEYS[castling];
+        remove(from);
+        remove(to);
+        if (type == PAWN && to == enPassantSquare) {
+            remove(whiteToMove ? to - 8 : to + 8);
+        }
+        if (type == KING && Math.abs(to - from) == 2) {
+            boolean kingside = to > from;
+            int rookFrom = kingside ? from + 3 : from - 4;
+            int rook = board[rookFrom];
+            if (rook != 0) {
+                remove(rookFrom);
+                put(kingside ? from + 1 : from - 1, rook);
+            }
+        }
+        put(to, promotion > 0 ? colorOffset + PAWN + promotion : piece);
+
+        castling &= CASTLING_MASKS[from] & CASTLING_MASKS[to];
+        enPassantSquare = type == PAWN && Math.abs(to - from) == 16 ? (from + to) / 2 : -1;
+        whiteToMove = !whiteToMove;
+        hash ^= CASTLING_KEYS[castling];
+        hash ^= enPassantKey();
+        hash ^= BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * Plays a move like {@link #play} and returns it in standard algebraic notation. Checks are
+     * marked with +, mate as well, because telling the two apart would need the legal moves.
+     */
+    public String playSan(int move) {
+        int from = (move >>> 6) & 0x3F;
+        int to = move & 0x3F;
+        int promotion = (move >>> 12) & 0x7;
+        int piece = board[from];
+        if (piece == 0 || isWhite(piece) != whiteToMove) {
+            throw new IllegalArgumentException("Illegal move: " + MoveCodec.decodeMove(move));
+        }
+        int type = type(piece);
+        StringBuilder san = new StringBuilder(8);
+        if (type == KING && Math.abs(to - from) == 2) {
+            san.append(to > from ? "O-O" : "O-O-O");
+        } else if (type == PAWN) {
+            if (from % 8 != to % 8) {
+                san.append(fileName(from)).append('x');
+            }
+            san.append(fileName(to)).append(rankName(to));
+            if (promotion > 0) {
+                san.append('=').append(PIECES.charAt(PAWN + promotion));
+            }
+        } else {
+            san.append(PIECES.charAt(type));
+            appendDisambiguation(san, piece, from, to);
+            if (board[to] != 0) {
+                san.append('x');
+            }
+            san.append(fileName(to)).append(rankName(to));
+        }
+        play(move);
+        int king = find(whiteToMove ? KING : BLACK + KING);
+        if (king >= 0 && isAttacked(king, !whiteToMove)) {
+            san.append('+');
+        }
+        return san.toString();
+    }
+
+    // Other pieces of the same kind that reach the square are told apart by file, then rank, then both.
+    // Pins are not looked at, so a pinned piece still counts.
+    private void appendDisambiguation(StringBuilder san, int piece, int from, int to) {
+        boolean ambiguous = false, sameFile = false, sameRank = false;
+        for (int square = 0; square < 64; square++) {
+            if (square != from && board[square] == piece && reaches(square, to, type(piece))) {
+                ambiguous = true;
+                sameFile |= square % 8 == from % 8;
+                sameRank |= square / 8 == from / 8;
+            }
+        }
+        if (ambiguous && (!sameFile || sameRank)) {
+            san.append(fileName(from));
+        }
+        if (ambiguous && sameFile) {
+            san.append(rankName(from));
+        }
+    }
+
+    private boolean isAttacked(int square, boolean byWhite) {
+        for (int attacker = 0; attacker < 64; attacker++) {
+            int piece = board[attacker];
+            if (piece == 0 || isWhite(piece) != byWhite) {
+                continue;
+            }
+            if (type(piece) == PAWN) {
+                int forward = byWhite ? 1 : -1;
+                if (square / 8 - attacker / 8 == forward && Math.abs(square % 8 - attacker % 8) == 1) {
+                    return true;
+                }
+            } else if (reaches(attacker, square, type(piece))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean reaches(int from, int to, int type) {
+        int files = to % 8 - from % 8;
+        int ranks = to / 8 - from / 8;
+        int fileDistance = Math.abs(files), rankDistance = Math.abs(ranks);
+        return switch (type) {
+            case KNIGHT -> fileDistance * rankDistance == 2;
+            case KING -> Math.max(fileDistance, rankDistance) == 1;
+            case BISHOP -> fileDistance == rankDistance && isPathClear(from, files, ranks);
+            case ROOK -> (files == 0 || ranks == 0) && isPathClear(from, files, ranks);
+            case QUEEN -> (fileDistance == rankDistance || files == 0 || ranks == 0) && isPathClear(from, files, ranks);
+            default -> false;
+        };
+    }
+
+    private boolean isPathClear(int from, int files, int ranks) {
+        int step = Integer.signum(ranks) * 8 + Integer.signum(files);
+        int distance = Math.max(Math.abs(files), Math.abs(ranks));
+        for (int i = 1; i < distance; i++) {
+            if (board[from + i * step] != 0) {
+                return false;
+            }
+        }
+        return distance > 0;
+    }
+
+    private int find(int piece) {
+        for (int square = 0; square < 64; square++) {
+            if (board[square] == piece) {
+                return square;
+            }
+        }
+        return -1;
+    }
+
+    private static char fileName(int square) {
+        return (char) ('a' + square % 8);
+    }
+
+    private static char rankName(int square) {
+        return (char) ('1' + square / 8);
+    }
+
+    private long computeHash() {
+        long computed = 0;
+        for (int square = 0; square < 64; square++) {
+            if (board[square] != 0) {
+                computed ^= PIECE_KEYS[(board[square] - 1) * 64 + square];
+            }
+        }
+        computed ^= CASTLING_KEYS[castling];
+        computed ^= enPassantKey();
+        return whiteToMove ? computed : computed ^ BLACK_TO_MOVE_KEY;
+    }
+
+    // Only counts the en passant square when the side to move has a pawn next to the one that moved
+    private long enPassantKey() {
+        if (enPassantSquare < 0) {
+            return 0;
+        }
+        int pawnSquare = whiteToMove ? enPassantSquare - 8 : enPassantSquare + 8;
+        int capturer = whiteToMove ? PAWN : BLACK + PAWN;
+        int file = pawnSquare % 8;
+        if ((file > 0 && board[pawnSquare - 1] == capturer) || (file < 7 && board[pawnSquare + 1] == capturer)) {
+            return EN_PASSANT_KEYS[file];
+        }
+        return 0;
+    }
+
+    private void remove(int square) {
+        if (board[square] == 0) {
+            return;
+        }
+        hash ^= PIECE_KEYS[(board[square] - 1) * 64 + square];
+        board[square] = 0;
+    }
+
+    private void put(int square, int piece) {
+        board[square] = (byte) piece;
+        hash ^= PIECE_KEYS[(piece - 1) * 64 + square];
+    }
+
+    private static boolean isWhite(int piece) {
+        return piece <= BLACK;
+    }
+
+    private static int type(int piece) {
+        return piece > BLACK ? piece - BLACK : piece;
+    }
+}
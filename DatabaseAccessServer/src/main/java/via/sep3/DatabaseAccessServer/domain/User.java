@@ -1,20 +1,51 @@
 package via.sep3.DatabaseAccessServer.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.util.Locale;
 import java.util.Objects;
 
+/**
+ * Users are keyed by a generated number that games reference; the API only knows them by email
+ * and username. Emails and usernames are unique regardless of case through lower-cased copies
+ * with unique constraints on them, which are kept in step here and not part of the API either.
+ * Listings still page and sort by the email itself, which has an index of its own for that.
+ */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email_lower"),
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username_lower")
+}, indexes = @Index(name = "idx_users_email", columnList = "email"))
 public class User {
+    public static final String EMAIL_CONSTRAINT = "uk_users_email_lower";
+    public static final String USERNAME_CONSTRAINT = "uk_users_username_lower";
+
     @Id
-    @Column(name = "email")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
+    @Column(name = "user_id")
+    @JsonIgnore
+    private int userId;
+    @Column(name = "email", nullable = false)
     private String email;
     private String username;
     private String password;
     private String role;
+    @Column(name = "email_lower")
+    private String emailLower;
+    @Column(name = "username_lower")
+    private String usernameLower;
 
     public User() {
     }
@@ -27,6 +58,14 @@ public class User {
         this.role = role;
     }
 
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -59,6 +98,13 @@ public class User {
         this.role = role;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void lowerCase() {
+        emailLower = email == null ? null : email.toLowerCase(Locale.ROOT);
+        usernameLower = username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,134 @@
+package via.sep3.DatabaseAccessServer.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Persistable;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.domain.enums.PlayerColor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+@Entity
+@Table(name = "user_stats")
+public class UserStats implements Persistable<String> {
+    @Id
+    @JsonIgnore
+    private String email;
+    private int gamesPlayed;
+    private int wins;
+    private int losses;
+    private int draws;
+    private int gamesAsWhite;
+    private int gamesAsBlack;
+    private int aiGames;
+    private int friendGames;
+    private int randomGames;
+    @Column(columnDefinition = "double precision default 1500 not null")
+    private double rating = Elo.INITIAL_RATING;
+    @Transient
+    @JsonIgnore
+    private boolean isNew = true;
+
+    public UserStats() {
+    }
+
+    public UserStats(String email) {
+        this.email = email;
+    }
+
+    public void add(PlayerColor color, GameOutcome outcome, GameType gameType) {
+        gamesPlayed++;
+        if (color == PlayerColor.WHITE) {
+            gamesAsWhite++;
+        } else {
+            gamesAsBlack++;
+        }
+        if (outcome == GameOutcome.DRAW) {
+            draws++;
+        } else if (outcome != null && (outcome == GameOutcome.WHITE) == (color == PlayerColor.WHITE)) {
+            wins++;
+        } else if (outcome != null) {
+            losses++;
+        }
+        if (gameType == GameType.AI) {
+            aiGames++;
+        } else if (gameType == GameType.FRIEND) {
+            friendGames++;
+        } else if (gameType == GameType.RANDOM) {
+            randomGames++;
+        }
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getGamesAsWhite() {
+        return gamesAsWhite;
+    }
+
+    public int getGamesAsBlack() {
+        return gamesAsBlack;
+    }
+
+    public int getAiGames() {
+        return aiGames;
+    }
+
+    public int getFriendGames() {
+        return friendGames;
+    }
+
+    public int getRandomGames() {
+        return randomGames;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public void setRating(double rating) {
+        this.rating = rating;
+    }
+
+    @Override
+    @JsonIgnore
+    public String getId() {
+        return email;
+    }
+
+    // Saving new stats persists them, instead of the select that merge would do for an assigned id
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,5 @@
+package via.sep3.DatabaseAccessServer.domain.enums;
+
+public enum MatchmakingStatus {
+    WAITING, MATCHED, CANCELLED
+}
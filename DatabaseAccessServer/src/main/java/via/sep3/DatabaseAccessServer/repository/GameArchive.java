@@ -0,0 +1,334 @@
+package via.sep3.DatabaseAccessServer.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSearchDto;
+import via.sep3.DatabaseAccessServer.domain.enums.PlayerColor;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Games that were moved out of the games table, kept as one compressed segment file per month
+ * they were played in, see {@link GameSegmentFile}.
+ * <p>
+ * Only the block directories are kept in memory, decoded blocks are cached. A segment is only
+ * ever replaced as a whole through a rename. Every segment is read through a channel that stays
+ * open, so a reader that started before a replacement keeps reading the old file; the channels
+ * of replaced segments are closed on the next write.
+ */
+@Repository
+public class GameArchive {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("games-(\\d{4}-\\d{2})\\.seg");
+
+    private final Path directory;
+
+    private final Cache<SegmentBlock, List<ArchivedGame>> blockCache;
+
+    // Sorted by first game id and replaced as a whole when a segment is written
+    private volatile List<SegmentBlock> blocks = List.of();
+
+    private final List<FileChannel> replacedChannels = new ArrayList<>();
+
+    public GameArchive(@Value("${games.archive.path}") Path directory,
+                       @Value("${games.archive.cached-blocks}") int cachedBlocks) {
+        this.directory = directory;
+        this.blockCache = Caffeine.newBuilder().maximumSize(cachedBlocks).build();
+        load();
+    }
+
+    private record Segment(YearMonth month, FileChannel channel) {
+    }
+
+    private record SegmentBlock(Segment segment, GameSegmentFile.Block block) {
+    }
+
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    public long size() {
+        long size = 0;
+        for (SegmentBlock segmentBlock : blocks) {
+            size += segmentBlock.block().rows();
+        }
+        return size;
+    }
+
+    public Collection<YearMonth> months() {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (SegmentBlock segmentBlock : blocks) {
+            months.add(segmentBlock.segment().month());
+        }
+        return months;
+    }
+
+    public Optional<ArchivedGame> findByGameId(int gameId) {
+        for (SegmentBlock segmentBlock : blocks) {
+            GameSegmentFile.Block block = segmentBlock.block();
+            if (block.firstGameId() > gameId) {
+                break;
+            }
+            if (block.lastGameId() < gameId) {
+                continue;
+            }
+            List<ArchivedGame> rows = read(segmentBlock);
+            int low = 0, high = rows.size() - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int middleId = rows.get(middle).gameId();
+                if (middleId == gameId) {
+                    return Optional.of(rows.get(middle));
+                } else if (middleId < gameId) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The archived games that match the search, in its order and after its cursor. A non-null
+     * bound also drops everything that would come after that id, so blocks that cannot make it
+     * into a page that is already full from the games table are not read.
+     */
+    public Stream<ArchivedGame> search(GameSearchDto search, Integer bound) {
+        int lowerExclusive = Integer.MIN_VALUE;
+        int upperExclusive = Integer.MAX_VALUE;
+        Integer lower = search.isDescending() ? bound : search.getAfter();
+        Integer upper = search.isDescending() ? search.getAfter() : bound;
+        if (lower != null) {
+            lowerExclusive = lower;
+        }
+        if (upper != null) {
+            upperExclusive = upper;
+        }
+        return stream(lowerExclusive, upperExclusive, search.isDescending()).filter(game -> matches(search, game));
+    }
+
+    /**
+     * Every archived game in id order.
+     */
+    public Stream<ArchivedGame> streamAll() {
+        return stream(Integer.MIN_VALUE, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Adds the games to the segment of the month, replacing archived games with the same id.
+     */
+    public synchronized void write(YearMonth month, Collection<ArchivedGame> games) {
+        closeReplacedChannels();
+        TreeMap<Integer, ArchivedGame> rows = new TreeMap<>();
+        List<SegmentBlock> otherBlocks = new ArrayList<>();
+        FileChannel replaced = null;
+        for (SegmentBlock segmentBlock : blocks) {
+            if (segmentBlock.segment().month().equals(month)) {
+                replaced = segmentBlock.segment().channel();
+                for (ArchivedGame game : read(segmentBlock)) {
+                    rows.put(game.gameId(), game);
+                }
+            } else {
+                otherBlocks.add(segmentBlock);
+            }
+        }
+        for (ArchivedGame game : games) {
+            rows.put(game.gameId(), game);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Path segment = directory.resolve("games-" + month + ".seg");
+        Path temporary = directory.resolve("games-" + month + ".seg.tmp");
+        try {
+            Files.createDirectories(directory);
+            GameSegmentFile.write(temporary, new ArrayList<>(rows.values()));
+            Files.move(temporary, segment, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+            otherBlocks.addAll(open(month, segment));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        otherBlocks.sort(Comparator.comparingInt(segmentBlock -> segmentBlock.block().firstGameId()));
+        blocks = List.copyOf(otherBlocks);
+        if (replaced != null) {
+            replacedChannels.add(replaced);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeReplacedChannels();
+        for (SegmentBlock segmentBlock : blocks) {
+            closeQuietly(segmentBlock.segment().channel());
+        }
+        blocks = List.of();
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<SegmentBlock> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Matcher matcher = SEGMENT_NAME.matcher(name);
+                if (name.endsWith(".seg.tmp")) {
+                    Files.delete(file);
+                } else if (matcher.matches()) {
+                    loaded.addAll(open(YearMonth.parse(matcher.group(1)), file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        loaded.sort(Comparator.comparingInt(segmentBlock -> segmentBlock.block().firstGameId()));
+        blocks = List.copyOf(loaded);
+    }
+
+    private static List<SegmentBlock> open(YearMonth month, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        List<GameSegmentFile.Block> segmentBlocks;
+        try {
+            segmentBlocks = GameSegmentFile.readDirectory(channel);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new IOException(e.getMessage() + ": " + path, e);
+        }
+        Segment segment = new Segment(month, channel);
+        List<SegmentBlock> result = new ArrayList<>(segmentBlocks.size());
+        for (GameSegmentFile.Block block : segmentBlocks) {
+            result.add(new SegmentBlock(segment, block));
+        }
+        return result;
+    }
+
+    private void closeReplacedChannels() {
+        for (FileChannel channel : replacedChannels) {
+            closeQuietly(channel);
+        }
+        replacedChannels.clear();
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing left to read from it
+        }
+    }
+
+    // Makes the rename itself durable, not every platform can open a directory for that
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // best effort
+        }
+    }
+
+    private Stream<ArchivedGame> stream(int lowerExclusive, int upperExclusive, boolean descending) {
+        List<List<SegmentBlock>> runs = overlappingRuns(lowerExclusive, upperExclusive);
+        Stream<List<SegmentBlock>> ordered = descending
+                ? Stream.iterate(runs.size() - 1, i -> i >= 0, i -> i - 1).map(runs::get)
+                : runs.stream();
+        return ordered.flatMap(run -> {
+            List<ArchivedGame> rows = new ArrayList<>();
+            for (SegmentBlock segmentBlock : run) {
+                rows.addAll(read(segmentBlock));
+            }
+            // Months can share ids at their edges when several servers take ids from the sequence
+            if (run.size() > 1) {
+                rows.sort(Comparator.comparingInt(ArchivedGame::gameId));
+            }
+            Stream<ArchivedGame> inRange = rows.stream().filter(game -> game.gameId() > lowerExclusive && game.gameId() < upperExclusive);
+            if (descending) {
+                List<ArchivedGame> reversed = new ArrayList<>(inRange.toList());
+                Collections.reverse(reversed);
+                return reversed.stream();
+            }
+            return inRange;
+        });
+    }
+
+    // Groups the blocks in the range so that blocks whose id ranges overlap are read together
+    private List<List<SegmentBlock>> overlappingRuns(int lowerExclusive, int upperExclusive) {
+        List<List<SegmentBlock>> runs = new ArrayList<>();
+        List<SegmentBlock> run = null;
+        int runLastGameId = Integer.MIN_VALUE;
+        for (SegmentBlock segmentBlock : blocks) {
+            GameSegmentFile.Block block = segmentBlock.block();
+            if (block.lastGameId() <= lowerExclusive || block.firstGameId() >= upperExclusive) {
+                continue;
+            }
+            if (run == null || block.firstGameId() > runLastGameId) {
+                run = new ArrayList<>();
+                runs.add(run);
+            }
+            run.add(segmentBlock);
+            runLastGameId = Math.max(runLastGameId, block.lastGameId());
+        }
+        return runs;
+    }
+
+    private List<ArchivedGame> read(SegmentBlock segmentBlock) {
+        return blockCache.get(segmentBlock, key -> {
+            try {
+                return GameSegmentFile.readBlock(key.segment().channel(), key.block());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static boolean matches(GameSearchDto search, ArchivedGame game) {
+        if (search.getPlayer() != null) {
+            String email = search.getPlayer().getEmail();
+            boolean asWhite = email.equals(game.playerWhite());
+            boolean asBlack = email.equals(game.playerBlack());
+            if (search.getPlayerColor() == PlayerColor.WHITE ? !asWhite
+                    : search.getPlayerColor() == PlayerColor.BLACK ? !asBlack
+                    : !asWhite && !asBlack) {
+                return false;
+            }
+        }
+        if (search.getCreator() != null && !search.getCreator().getEmail().equals(game.creator())) {
+            return false;
+        }
+        if (search.getGameOutcome() != null && search.getGameOutcome() != game.gameOutcome()) {
+            return false;
+        }
+        if (search.getGameType() != null && search.getGameType() != game.gameType()) {
+            return false;
+        }
+        if (search.getMinTimeControlDurationSeconds() != null && game.timeControlDurationSeconds() < search.getMinTimeControlDurationSeconds()) {
+            return false;
+        }
+        return search.getMaxTimeControlDurationSeconds() == null || game.timeControlDurationSeconds() <= search.getMaxTimeControlDurationSeconds();
+    }
+}
@@ -0,0 +1,28 @@
+package via.sep3.DatabaseAccessServer.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import via.sep3.DatabaseAccessServer.domain.GamePosition;
+
+import javax.annotation.Resource;
+import java.util.List;
+
+@Repository
+@Resource
+public interface GamePositionRepository extends CrudRepository<GamePosition, GamePosition.Key> {
+    @Query("select p.gameOutcome, count(p) from GamePosition p where p.hash = :hash group by p.gameOutcome")
+    List<Object[]> countOutcomesByHash(@Param("hash") long hash);
+
+    @Query("select p.gameId from GamePosition p where p.hash = :hash order by p.gameId desc")
+    List<Integer> findGameIdsByHash(@Param("hash") long hash, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("delete from GamePosition")
+    void deleteAllPositions();
+}
@@ -1,18 +1,56 @@
 package via.sep3.DatabaseAccessServer.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto;
 import via.sep3.DatabaseAccessServer.domain.Game;
-import via.sep3.DatabaseAccessServer.domain.User;
 
 import javax.annotation.Resource;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 @Resource
-public interface GameRepository extends CrudRepository<Game, String> {
+public interface GameRepository extends CrudRepository<Game, String>, GameSearchRepository {
+    @EntityGraph(attributePaths = {"creator", "playerWhite", "playerBlack"})
     Optional<Game> findByGameId(@Param("gameId") int gameId);
-    Iterable<Game> findByCreatorEquals(@Param("creator") String creator);
 
+    @Query("select new via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto(g.gameId, g.moves, g.moveClocks) from Game g where g.gameId = :gameId")
+    Optional<GameMovesDto> findMovesByGameId(@Param("gameId") int gameId);
+
+    @EntityGraph(attributePaths = {"creator", "playerWhite", "playerBlack"})
+    List<Game> findByIdempotencyKeyIn(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select g.playerWhite.email, g.playerBlack.email, g.gameOutcome, g.gameType from Game g order by g.gameId")
+    Stream<Object[]> streamResults();
+
+    @Query("select g.gameId, g.moves, g.gameOutcome from Game g where g.gameId > :afterGameId and g.moves is not null order by g.gameId")
+    List<Object[]> findMovesAfter(@Param("afterGameId") int afterGameId, Pageable pageable);
+
+    @Query("select g.gameId from Game g where g.gameId in :gameIds")
+    List<Integer> findGameIdsIn(@Param("gameIds") Collection<Integer> gameIds);
+
+    @Query("select min(g.playedAt) from Game g where g.playedAt < :before")
+    Optional<Instant> findOldestPlayedAtBefore(@Param("before") Instant before);
+
+    @Query("select new via.sep3.DatabaseAccessServer.domain.ArchivedGame(g.gameId, g.playedAt, g.creator.email, g.playerWhite.email, g.playerBlack.email, " +
+            "g.gameType, g.timeControlDurationSeconds, g.timeControlIncrementSeconds, g.gameOutcome, g.moves, g.moveClocks, g.idempotencyKey) " +
+            "from Game g where g.playedAt >= :from and g.playedAt < :to order by g.gameId")
+    List<ArchivedGame> findPlayedBetween(@Param("from") Instant from, @Param("to") Instant to);
 
+    @Modifying
+    @Query("delete from Game g where g.gameId in :gameIds")
+    int deleteByGameIdIn(@Param("gameIds") Collection<Integer> gameIds);
 }
@@ -0,0 +1,19 @@
+package via.sep3.DatabaseAccessServer.repository;
+
+import org.springframework.data.domain.Pageable;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameExportDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSearchDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface GameSearchRepository {
+    List<GameSummaryDto> search(GameSearchDto search, Pageable pageable);
+
+    Stream<GameSummaryDto> streamSearch(GameSearchDto search);
+
+    List<GameExportDto> searchForExport(GameSearchDto search, Pageable pageable);
+
+    Stream<GameExportDto> streamSearchForExport(GameSearchDto search);
+}
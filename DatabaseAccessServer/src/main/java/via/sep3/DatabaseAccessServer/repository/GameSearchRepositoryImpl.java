@@ -0,0 +1,134 @@
+package via.sep3.DatabaseAccessServer.repository;
+
+import org.springframework.data.domain.Pageable;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameExportDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSearchDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.PlayerColor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class GameSearchRepositoryImpl implements GameSearchRepository {
+
+    @FunctionalInterface
+    private interface Projection<T> {
+        CompoundSelection<T> select(CriteriaBuilder cb, Root<Game> game);
+    }
+
+    private static final Projection<GameSummaryDto> SUMMARY = (cb, game) -> {
+        Join<Game, User> creator = game.join("creator", JoinType.LEFT);
+        Join<Game, User> playerWhite = game.join("playerWhite", JoinType.LEFT);
+        Join<Game, User> playerBlack = game.join("playerBlack", JoinType.LEFT);
+        return cb.construct(GameSummaryDto.class,
+                game.get("gameId"),
+                creator.get("username"),
+                playerWhite.get("username"),
+                playerBlack.get("username"),
+                game.get("gameType"),
+                game.get("timeControlDurationSeconds"),
+                game.get("timeControlIncrementSeconds"),
+                game.get("gameOutcome"));
+    };
+
+    private static final Projection<GameExportDto> EXPORT = (cb, game) -> {
+        Join<Game, User> playerWhite = game.join("playerWhite", JoinType.LEFT);
+        Join<Game, User> playerBlack = game.join("playerBlack", JoinType.LEFT);
+        return cb.construct(GameExportDto.class,
+                game.get("gameId"),
+                game.get("playedAt"),
+                playerWhite.get("username"),
+                playerBlack.get("username"),
+                game.get("gameType"),
+                game.get("timeControlDurationSeconds"),
+                game.get("timeControlIncrementSeconds"),
+                game.get("gameOutcome"),
+                game.get("moves"),
+                game.get("moveClocks"));
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<GameSummaryDto> search(GameSearchDto search, Pageable pageable) {
+        return createQuery(search, GameSummaryDto.class, SUMMARY)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<GameSummaryDto> streamSearch(GameSearchDto search) {
+        return createQuery(search, GameSummaryDto.class, SUMMARY)
+                .setHint("org.hibernate.fetchSize", 500)
+                .getResultStream();
+    }
+
+    @Override
+    public List<GameExportDto> searchForExport(GameSearchDto search, Pageable pageable) {
+        return createQuery(search, GameExportDto.class, EXPORT)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    // Rows are only constructed, not managed, so the persistence context stays empty however long the export runs
+    @Override
+    public Stream<GameExportDto> streamSearchForExport(GameSearchDto search) {
+        return createQuery(search, GameExportDto.class, EXPORT)
+                .setHint("org.hibernate.fetchSize", 100)
+                .getResultStream();
+    }
+
+    private <T> TypedQuery<T> createQuery(GameSearchDto search, Class<T> resultType, Projection<T> projection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(resultType);
+        Root<Game> game = query.from(Game.class);
+        query.select(projection.select(cb, game));
+        query.where(toPredicates(search, cb, game).toArray(new Predicate[0]));
+        Path<Integer> gameId = game.get("gameId");
+        query.orderBy(search.isDescending() ? cb.desc(gameId) : cb.asc(gameId));
+        return entityManager.createQuery(query);
+    }
+
+    private List<Predicate> toPredicates(GameSearchDto search, CriteriaBuilder cb, Root<Game> game) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (search.getPlayer() != null) {
+            Predicate asWhite = cb.equal(game.get("playerWhite"), search.getPlayer());
+            Predicate asBlack = cb.equal(game.get("playerBlack"), search.getPlayer());
+            if (search.getPlayerColor() == PlayerColor.WHITE) {
+                predicates.add(asWhite);
+            } else if (search.getPlayerColor() == PlayerColor.BLACK) {
+                predicates.add(asBlack);
+            } else {
+                predicates.add(cb.or(asWhite, asBlack));
+            }
+        }
+        if (search.getCreator() != null) {
+            predicates.add(cb.equal(game.get("creator"), search.getCreator()));
+        }
+        if (search.getGameOutcome() != null) {
+            predicates.add(cb.equal(game.get("gameOutcome"), search.getGameOutcome()));
+        }
+        if (search.getGameType() != null) {
+            predicates.add(cb.equal(game.get("gameType"), search.getGameType()));
+        }
+        if (search.getMinTimeControlDurationSeconds() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(game.get("timeControlDurationSeconds"), search.getMinTimeControlDurationSeconds()));
+        }
+        if (search.getMaxTimeControlDurationSeconds() != null) {
+            predicates.add(cb.lessThanOrEqualTo(game.get("timeControlDurationSeconds"), search.getMaxTimeControlDurationSeconds()));
+        }
+        if (search.getAfter() != null) {
+            Path<Integer> gameId = game.get("gameId");
+            predicates.add(search.isDescending() ? cb.lessThan(gameId, search.getAfter()) : cb.greaterThan(gameId, search.getAfter()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,343 @@
+package via.sep3.DatabaseAccessServer.repository;
+
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and writes one archive segment, the games of one month sorted by id.
+ * <p>
+ * The games are stored in blocks of up to {@link #BLOCK_SIZE} rows. Inside a block every column is
+ * written on its own, ids and timestamps as varint deltas and the players as indexes into a
+ * dictionary of the emails in the block, and the block is deflated as a whole. A directory at the
+ * end of the file holds the id range of every block, so a lookup inflates a single block.
+ * <p>
+ * {@code [magic][version] [block]... [block count][offset, length, rows, first id, last id]... [directory offset][magic]}
+ */
+final class GameSegmentFile {
+    static final int BLOCK_SIZE = 4096;
+    private static final int MAGIC = 0x4753_4547;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int FOOTER_SIZE = 12;
+    private static final int DIRECTORY_ENTRY_SIZE = 24;
+
+    private GameSegmentFile() {
+    }
+
+    record Block(long offset, int length, int rows, int firstGameId, int lastGameId) {
+    }
+
+    /**
+     * Writes the games, which have to be sorted by id, and forces the file to disk.
+     */
+    static void write(Path path, List<ArchivedGame> games) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip());
+            long offset = HEADER_SIZE;
+            List<Block> blocks = new ArrayList<>();
+            for (int from = 0; from < games.size(); from += BLOCK_SIZE) {
+                List<ArchivedGame> rows = games.subList(from, Math.min(games.size(), from + BLOCK_SIZE));
+                byte[] block = deflate(encode(rows));
+                writeFully(channel, ByteBuffer.wrap(block));
+                blocks.add(new Block(offset, block.length, rows.size(), rows.get(0).gameId(), rows.get(rows.size() - 1).gameId()));
+                offset += block.length;
+            }
+
+            ByteBuffer directory = ByteBuffer.allocate(4 + blocks.size() * DIRECTORY_ENTRY_SIZE + FOOTER_SIZE);
+            directory.putInt(blocks.size());
+            for (Block block : blocks) {
+                directory.putLong(block.offset()).putInt(block.length()).putInt(block.rows())
+                        .putInt(block.firstGameId()).putInt(block.lastGameId());
+            }
+            directory.putLong(offset).putInt(MAGIC);
+            writeFully(channel, directory.flip());
+            channel.force(true);
+        }
+    }
+
+    static List<Block> readDirectory(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + FOOTER_SIZE) {
+            throw new IOException("Not a game segment");
+        }
+        ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a game segment");
+        }
+        ByteBuffer footer = readFully(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+        long directoryOffset = footer.getLong();
+        if (footer.getInt() != MAGIC || directoryOffset < HEADER_SIZE || directoryOffset > size - FOOTER_SIZE - 4) {
+            throw new IOException("Truncated game segment");
+        }
+        ByteBuffer directory = readFully(channel, directoryOffset, (int) (size - FOOTER_SIZE - directoryOffset));
+        int count = directory.getInt();
+        if (directory.remaining() != count * DIRECTORY_ENTRY_SIZE) {
+            throw new IOException("Corrupt game segment directory");
+        }
+        List<Block> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            blocks.add(new Block(directory.getLong(), directory.getInt(), directory.getInt(), directory.getInt(), directory.getInt()));
+        }
+        return blocks;
+    }
+
+    static List<ArchivedGame> readBlock(FileChannel channel, Block block) throws IOException {
+        ByteBuffer compressed = readFully(channel, block.offset(), block.length());
+        return decode(ByteBuffer.wrap(inflate(compressed.array())), block.rows());
+    }
+
+    private static byte[] encode(List<ArchivedGame> rows) {
+        Columns out = new Columns();
+        int previousId = 0;
+        for (ArchivedGame game : rows) {
+            out.writeVarint(game.gameId() - previousId);
+            previousId = game.gameId();
+        }
+        long previousMicros = 0;
+        for (ArchivedGame game : rows) {
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, game.playedAt());
+            out.writeSignedVarlong(micros - previousMicros);
+            previousMicros = micros;
+        }
+
+        Map<String, Integer> emails = new LinkedHashMap<>();
+        for (ArchivedGame game : rows) {
+            emails.putIfAbsent(game.creator(), emails.size());
+            emails.putIfAbsent(game.playerWhite(), emails.size());
+            emails.putIfAbsent(game.playerBlack(), emails.size());
+        }
+        out.writeVarint(emails.size());
+        for (String email : emails.keySet()) {
+            out.writeLengthPrefixed(email.getBytes(StandardCharsets.UTF_8));
+        }
+        for (ArchivedGame game : rows) {
+            out.writeVarint(emails.get(game.creator()));
+            out.writeVarint(emails.get(game.playerWhite()));
+            out.writeVarint(emails.get(game.playerBlack()));
+        }
+
+        for (ArchivedGame game : rows) {
+            out.write(game.gameType() == null ? 0 : game.gameType().ordinal() + 1);
+        }
+        for (ArchivedGame game : rows) {
+            out.write(game.gameOutcome() == null ? 0 : game.gameOutcome().ordinal() + 1);
+        }
+        for (ArchivedGame game : rows) {
+            out.writeSignedVarlong(game.timeControlDurationSeconds());
+        }
+        for (ArchivedGame game : rows) {
+            out.writeSignedVarlong(game.timeControlIncrementSeconds());
+        }
+        for (ArchivedGame game : rows) {
+            out.writeNullableBytes(game.moves());
+        }
+        for (ArchivedGame game : rows) {
+            out.writeNullableBytes(game.moveClocks());
+        }
+        for (ArchivedGame game : rows) {
+            out.writeNullableBytes(game.idempotencyKey() == null ? null : game.idempotencyKey().getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static List<ArchivedGame> decode(ByteBuffer in, int rows) {
+        int[] gameIds = new int[rows];
+        int gameId = 0;
+        for (int i = 0; i < rows; i++) {
+            gameId += readVarint(in);
+            gameIds[i] = gameId;
+        }
+        Instant[] playedAt = new Instant[rows];
+        long micros = 0;
+        for (int i = 0; i < rows; i++) {
+            micros += readSignedVarlong(in);
+            playedAt[i] = Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+        }
+
+        String[] emails = new String[readVarint(in)];
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = new String(readBytes(in, readVarint(in)), StandardCharsets.UTF_8);
+        }
+        String[][] players = new String[rows][3];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < 3; j++) {
+                players[i][j] = emails[readVarint(in)];
+            }
+        }
+
+        GameType[] gameTypes = new GameType[rows];
+        for (int i = 0; i < rows; i++) {
+            int value = in.get();
+            gameTypes[i] = value == 0 ? null : GameType.values()[value - 1];
+        }
+        GameOutcome[] gameOutcomes = new GameOutcome[rows];
+        for (int i = 0; i < rows; i++) {
+            int value = in.get();
+            gameOutcomes[i] = value == 0 ? null : GameOutcome.values()[value - 1];
+        }
+        int[] durations = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            durations[i] = (int) readSignedVarlong(in);
+        }
+        int[] increments = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            increments[i] = (int) readSignedVarlong(in);
+        }
+        byte[][] moves = new byte[rows][];
+        for (int i = 0; i < rows; i++) {
+            moves[i] = readNullableBytes(in);
+        }
+        byte[][] moveClocks = new byte[rows][];
+        for (int i = 0; i < rows; i++) {
+            moveClocks[i] = readNullableBytes(in);
+        }
+
+        List<ArchivedGame> games = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            byte[] key = readNullableBytes(in);
+            games.add(new ArchivedGame(gameIds[i], playedAt[i], players[i][0], players[i][1], players[i][2],
+                    gameTypes[i], durations[i], increments[i], gameOutcomes[i], moves[i], moveClocks[i],
+                    key == null ? null : new String(key, StandardCharsets.UTF_8)));
+        }
+        return games;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated game segment block");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt game segment block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of game segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        return (int) readVarlong(in);
+    }
+
+    private static long readVarlong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long readSignedVarlong(ByteBuffer in) {
+        long value = readVarlong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] readBytes(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    // Lengths are stored plus one so that 0 can stand for null
+    private static byte[] readNullableBytes(ByteBuffer in) {
+        int length = readVarint(in);
+        return length == 0 ? null : readBytes(in, length - 1);
+    }
+
+    private static final class Columns extends ByteArrayOutputStream {
+        Columns() {
+            super(64 * 1024);
+        }
+
+        void writeVarint(int value) {
+            writeVarlong(value & 0xFFFF_FFFFL);
+        }
+
+        void writeVarlong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSignedVarlong(long value) {
+            writeVarlong((value << 1) ^ (value >> 63));
+        }
+
+        void writeLengthPrefixed(byte[] bytes) {
+            writeVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeNullableBytes(byte[] bytes) {
+            if (bytes == null) {
+                write(0);
+                return;
+            }
+            writeVarint(bytes.length + 1);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
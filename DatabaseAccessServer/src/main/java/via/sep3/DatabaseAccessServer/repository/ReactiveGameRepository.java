@@ -0,0 +1,73 @@
+package via.sep3.DatabaseAccessServer.repository;
+
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Non-blocking reads of single games for the reactive profile. Returns the same shapes as
+ * {@link GameRepository#findByGameId} and {@link GameRepository#findMovesByGameId}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveGameRepository {
+    private static final String SELECT_GAME = "select g.game_id, g.game_type, g.time_control_duration_seconds, g.time_control_increment_seconds, g.game_outcome, g.played_at, " +
+            "c.email c_email, c.username c_username, c.password c_password, c.role c_role, " +
+            "w.email w_email, w.username w_username, w.password w_password, w.role w_role, " +
+            "b.email b_email, b.username b_username, b.password b_password, b.role b_role " +
+            "from games g " +
+            "join users c on c.user_id = g.creator_id " +
+            "join users w on w.user_id = g.player_white_id " +
+            "join users b on b.user_id = g.player_black_id " +
+            "where g.game_id = :gameId";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveGameRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Game> findByGameId(int gameId) {
+        return databaseClient.sql(SELECT_GAME)
+                .bind("gameId", gameId)
+                .map((row, metadata) -> toGame(row))
+                .one();
+    }
+
+    public Mono<GameMovesDto> findMovesByGameId(int gameId) {
+        return databaseClient.sql("select game_id, moves, move_clocks from games where game_id = :gameId")
+                .bind("gameId", gameId)
+                .map((row, metadata) -> new GameMovesDto(row.get("game_id", Integer.class), row.get("moves", byte[].class), row.get("move_clocks", byte[].class)))
+                .one();
+    }
+
+    private static Game toGame(Row row) {
+        Integer gameType = row.get("game_type", Integer.class);
+        Integer gameOutcome = row.get("game_outcome", Integer.class);
+        Game game = new Game(toUser(row, "c_"), toUser(row, "w_"), toUser(row, "b_"),
+                gameType == null ? null : GameType.values()[gameType],
+                row.get("time_control_duration_seconds", Integer.class),
+                row.get("time_control_increment_seconds", Integer.class),
+                gameOutcome == null ? null : GameOutcome.values()[gameOutcome]);
+        game.setGameId(row.get("game_id", Integer.class));
+        // Hibernate writes the instant as a local timestamp in the default time zone
+        LocalDateTime playedAt = row.get("played_at", LocalDateTime.class);
+        game.setPlayedAt(playedAt == null ? null : playedAt.atZone(ZoneId.systemDefault()).toInstant());
+        return game;
+    }
+
+    private static User toUser(Row row, String prefix) {
+        return new User(row.get(prefix + "email", String.class), row.get(prefix + "username", String.class),
+                row.get(prefix + "password", String.class), row.get(prefix + "role", String.class));
+    }
+}
@@ -1,18 +1,44 @@
 package via.sep3.DatabaseAccessServer.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import via.sep3.DatabaseAccessServer.domain.User;
 
 import javax.annotation.Resource;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Resource
-public interface UserRepository extends CrudRepository<User, String> {
-    Optional<User> findByEmailIgnoreCase(@Param("Email") String email);
-    Iterable<User> findByUsernameContaining(@Param("username") String username);
+public interface UserRepository extends CrudRepository<User, Integer> {
+    // Through the unique constraint on the lower-cased email
+    Optional<User> findByEmailLower(@Param("emailLower") String emailLower);
+
+    // Keyset pages by email, on idx_users_email
+    List<User> findByEmailGreaterThanOrderByEmailAsc(@Param("email") String email, Pageable pageable);
+
+    List<User> findByUsernameContainingAndEmailGreaterThanOrderByEmailAsc(@Param("username") String username, @Param("email") String email, Pageable pageable);
 
     Optional<User> findByUsernameEquals(@Param("username") String username);
+
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
+
+    List<User> findByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u from User u where u.emailLower in :emails or u.usernameLower in :usernames")
+    List<User> findByLowerCaseEmailsOrUsernames(@Param("emails") Collection<String> emails, @Param("usernames") Collection<String> usernames);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<User> streamByOrderByEmailAsc();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<User> streamByUsernameContainingOrderByEmailAsc(@Param("username") String username);
 }
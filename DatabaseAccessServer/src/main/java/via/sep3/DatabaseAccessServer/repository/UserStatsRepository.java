@@ -0,0 +1,38 @@
+package via.sep3.DatabaseAccessServer.repository;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import via.sep3.DatabaseAccessServer.domain.UserStats;
+
+import javax.annotation.Resource;
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Resource
+public interface UserStatsRepository extends CrudRepository<UserStats, String> {
+    // Locked in email order so that two transactions touching the same players cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserStats s where s.email in :emails order by s.email")
+    List<UserStats> findAllForUpdate(@Param("emails") Collection<String> emails);
+
+    // Adds the row of a player who has none yet. A row that another transaction inserted in the
+    // meantime is left alone instead of failing the insert; rating takes the column default.
+    @Modifying
+    @Query(value = "insert into user_stats (email, games_played, wins, losses, draws, games_as_white, games_as_black, ai_games, friend_games, random_games) "
+            + "values (:email, 0, 0, 0, 0, 0, 0, 0, 0, 0) on conflict do nothing", nativeQuery = true)
+    void insertIfMissing(@Param("email") String email);
+
+    @Query("select u.username, s.rating from UserStats s, User u where u.email = s.email")
+    List<Object[]> findAllRatings();
+
+    // Cleared, so that the stats a rebuild saves afterwards are persisted without clashing with loaded ones
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from UserStats")
+    void deleteAllStats();
+}
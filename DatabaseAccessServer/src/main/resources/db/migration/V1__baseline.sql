@@ -0,0 +1,63 @@
+-- The schema Hibernate created with ddl-auto=update. Databases that already have it are
+-- baselined at this version on the first start with Flyway and skip this script.
+
+create sequence games_seq start with 1 increment by 50;
+
+create table users (
+    email varchar(255) not null,
+    password varchar(255),
+    role varchar(255),
+    username varchar(255),
+    primary key (email)
+);
+
+create table games (
+    game_id integer not null,
+    creator varchar(255),
+    player_white varchar(255),
+    player_black varchar(255),
+    game_type integer,
+    time_control_duration_seconds integer not null,
+    time_control_increment_seconds integer not null,
+    game_outcome integer,
+    played_at timestamp,
+    moves bytea,
+    move_clocks bytea,
+    idempotency_key varchar(64),
+    primary key (game_id),
+    constraint uk_games_idempotency_key unique (idempotency_key),
+    constraint fk_games_creator foreign key (creator) references users (email),
+    constraint fk_games_player_white foreign key (player_white) references users (email),
+    constraint fk_games_player_black foreign key (player_black) references users (email)
+);
+
+create index idx_games_player_white on games (player_white, game_id);
+create index idx_games_player_black on games (player_black, game_id);
+create index idx_games_creator on games (creator, game_id);
+create index idx_games_type_duration on games (game_type, time_control_duration_seconds, game_id);
+create index idx_games_outcome on games (game_outcome, game_id);
+create index idx_games_played_at on games (played_at);
+
+create table user_stats (
+    email varchar(255) not null,
+    games_played integer not null,
+    wins integer not null,
+    losses integer not null,
+    draws integer not null,
+    games_as_white integer not null,
+    games_as_black integer not null,
+    ai_games integer not null,
+    friend_games integer not null,
+    random_games integer not null,
+    rating double precision default 1500 not null,
+    primary key (email)
+);
+
+create table game_positions (
+    hash bigint not null,
+    game_id integer not null,
+    game_outcome integer,
+    primary key (game_id, hash)
+);
+
+create index idx_game_positions_hash on game_positions (hash, game_outcome, game_id);
@@ -0,0 +1,10 @@
+-- Emails and usernames become unique regardless of case. Accounts that only differ in case have
+-- to be merged before this runs.
+
+alter table users add column email_lower varchar(255);
+alter table users add column username_lower varchar(255);
+
+update users set email_lower = lower(email), username_lower = lower(username);
+
+alter table users add constraint uk_users_email_lower unique (email_lower);
+alter table users add constraint uk_users_username_lower unique (username_lower);
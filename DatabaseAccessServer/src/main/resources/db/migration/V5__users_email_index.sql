@@ -0,0 +1,4 @@
+-- Users are listed and paged by email, which lost its index when it stopped being the primary key.
+-- Hibernate may have created it already.
+
+create index if not exists idx_users_email on users (email);
@@ -0,0 +1,187 @@
+package via.sep3.DatabaseAccessServer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import via.sep3.DatabaseAccessServer.application.Logic.GameJournal;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.Logic.GameLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.application.Logic.PositionIndexLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.application.Logic.UserLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserStatsLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UsernameIndex;
+import via.sep3.DatabaseAccessServer.config.BinaryJsonConfig;
+import via.sep3.DatabaseAccessServer.controller.GameController;
+import via.sep3.DatabaseAccessServer.controller.UserController;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DataJpaTest
+public class ConditionalGetUnitTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private GamePositionRepository gamePositionRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+    private Game game;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @BeforeEach
+    void init() {
+        GameArchive gameArchive = new GameArchive(archiveDirectory, 16);
+        UserCache userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        UserLogicImpl userLogic = new UserLogicImpl(userRepository, userCache, new UsernameIndex(userRepository), entityManager);
+        UserStatsLogicImpl userStatsLogic = new UserStatsLogicImpl(userStatsRepository, gameRepository, gameArchive, userCache, new Leaderboard(userStatsRepository));
+        GameLogicImpl gameLogic = new GameLogicImpl(gameRepository, gameArchive, userCache, userStatsLogic, new PositionIndexLogicImpl(gamePositionRepository, gameRepository, gameArchive), new GameFeed(16));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        BinaryJsonConfig binaryJsonConfig = new BinaryJsonConfig();
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new GameController(gameLogic, objectMapper, new DefaultListableBeanFactory().getBeanProvider(GameJournal.class)),
+                        new UserController(userLogic, userStatsLogic, objectMapper))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                        binaryJsonConfig.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                        binaryJsonConfig.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()))
+                .build();
+
+        userRepository.save(new User("1", "1", "1", "1"));
+        userRepository.save(new User("2", "2", "2", "2"));
+        game = gameLogic.create(new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, GameOutcome.DRAW));
+    }
+
+    @Test
+    void gameIsServedWithETagAndLongLivedCacheControl() throws Exception {
+        mockMvc.perform(get("/games/" + game.getGameId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable"))
+                .andExpect(jsonPath("$.gameId").value(game.getGameId()));
+    }
+
+    @Test
+    void gameWithMatchingETagIsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/games/" + game.getGameId())).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult result = mockMvc.perform(get("/games/" + game.getGameId()).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+        assertEquals(0, result.getResponse().getContentLength());
+    }
+
+    @Test
+    void gameETagIsCheckedWithoutLookingTheGameUp() throws Exception {
+        // The ETag of a game that does not exist still matches, which shows no lookup happened
+        String etag = mockMvc.perform(get("/games/" + game.getGameId())).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        gameRepository.deleteAll();
+        mockMvc.perform(get("/games/" + game.getGameId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void wildcardOnlyMatchesGameThatExists() throws Exception {
+        mockMvc.perform(get("/games/" + game.getGameId()).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        mockMvc.perform(get("/games/" + (game.getGameId() + 1)).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void missingGameHasNoETag() throws Exception {
+        mockMvc.perform(get("/games/" + (game.getGameId() + 1)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void userWithMatchingETagIsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/users/2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("2"));
+    }
+
+    @Test
+    void streamWithInvalidSearchIsBadRequestBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/games").param("stream", "true").param("gameOutcome", "nobody"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/games").param("stream", "true").param("order", "sideways"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/games").param("stream", "true").param("color", "white"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void gameIsServedAsSmileOrCborWhenAskedFor() throws Exception {
+        MvcResult json = mockMvc.perform(get("/games/" + game.getGameId())).andReturn();
+        MvcResult smile = mockMvc.perform(get("/games/" + game.getGameId()).accept(BinaryJsonConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryJsonConfig.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get("/games/" + game.getGameId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        assertEquals(game.getGameId(), new SmileMapper().readTree(smile.getResponse().getContentAsByteArray()).get("gameId").asInt());
+        assertEquals(game.getGameId(), new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray()).get("gameId").asInt());
+        assertNotEquals(json.getResponse().getHeader(HttpHeaders.ETAG), smile.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNotEquals(smile.getResponse().getHeader(HttpHeaders.ETAG), cbor.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void jsonETagDoesNotMatchSmileRequest() throws Exception {
+        String etag = mockMvc.perform(get("/games/" + game.getGameId())).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/games/" + game.getGameId()).accept(BinaryJsonConfig.APPLICATION_SMILE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,142 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSearchDto;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.domain.enums.PlayerColor;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameArchiveUnitTests {
+    private static final YearMonth JANUARY = YearMonth.of(2022, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2022, 2);
+
+    @TempDir
+    Path directory;
+
+    private static ArchivedGame game(int gameId, String white, String black) {
+        byte[] moves = gameId % 3 == 0 ? null : new byte[]{(byte) gameId, 12, 28};
+        return new ArchivedGame(gameId, Instant.parse("2022-01-01T00:00:00Z").plusMillis(gameId * 1001L), white, white, black,
+                gameId % 5 == 0 ? null : GameType.RANDOM, 60 + gameId % 7, 5, GameOutcome.values()[gameId % 3],
+                moves, moves == null ? null : new byte[]{1, 2, 3, 4}, gameId % 2 == 0 ? "key-" + gameId : null);
+    }
+
+    private static List<ArchivedGame> games(int firstGameId, int count) {
+        List<ArchivedGame> games = new ArrayList<>();
+        for (int gameId = firstGameId; gameId < firstGameId + count; gameId++) {
+            games.add(game(gameId, "player" + gameId % 10 + "@mail.com", "player" + (gameId + 1) % 10 + "@mail.com"));
+        }
+        return games;
+    }
+
+    private static List<Integer> ids(Stream<ArchivedGame> games) {
+        return games.map(ArchivedGame::gameId).toList();
+    }
+
+    @Test
+    void writtenGamesAreFoundAfterReopening() {
+        new GameArchive(directory, 4).write(JANUARY, games(1, 10_000));
+
+        GameArchive archive = new GameArchive(directory, 4);
+        assertEquals(10_000, archive.size());
+        assertEquals(List.of(JANUARY), new ArrayList<>(archive.months()));
+        for (int gameId : new int[]{1, 2, 3, 4095, 4096, 4097, 8193, 10_000}) {
+            ArchivedGame expected = game(gameId, "player" + gameId % 10 + "@mail.com", "player" + (gameId + 1) % 10 + "@mail.com");
+            ArchivedGame found = archive.findByGameId(gameId).orElseThrow();
+            assertEquals(expected.gameId(), found.gameId());
+            assertEquals(expected.playedAt(), found.playedAt());
+            assertEquals(expected.creator(), found.creator());
+            assertEquals(expected.playerWhite(), found.playerWhite());
+            assertEquals(expected.playerBlack(), found.playerBlack());
+            assertEquals(expected.gameType(), found.gameType());
+            assertEquals(expected.timeControlDurationSeconds(), found.timeControlDurationSeconds());
+            assertEquals(expected.timeControlIncrementSeconds(), found.timeControlIncrementSeconds());
+            assertEquals(expected.gameOutcome(), found.gameOutcome());
+            assertArrayEquals(expected.moves(), found.moves());
+            assertArrayEquals(expected.moveClocks(), found.moveClocks());
+            assertEquals(expected.idempotencyKey(), found.idempotencyKey());
+        }
+        assertTrue(archive.findByGameId(0).isEmpty());
+        assertTrue(archive.findByGameId(10_001).isEmpty());
+    }
+
+    @Test
+    void writeMergesWithTheExistingSegmentOfTheMonth() {
+        GameArchive archive = new GameArchive(directory, 4);
+        archive.write(JANUARY, games(1, 10));
+        archive.write(JANUARY, List.of(game(5, "new@mail.com", "new@mail.com"), game(20, "a@mail.com", "b@mail.com")));
+
+        assertEquals(11, archive.size());
+        assertEquals("new@mail.com", archive.findByGameId(5).orElseThrow().playerWhite());
+        assertTrue(archive.findByGameId(20).isPresent());
+        assertEquals(11, new GameArchive(directory, 4).size());
+    }
+
+    @Test
+    void searchFollowsOrderCursorAndFilters() {
+        GameArchive archive = new GameArchive(directory, 4);
+        archive.write(FEBRUARY, games(101, 100));
+        archive.write(JANUARY, games(1, 100));
+
+        GameSearchDto search = new GameSearchDto();
+        assertEquals(200, ids(archive.search(search, null)).size());
+        search.setAfter(150);
+        assertEquals(List.of(151, 152), ids(archive.search(search, null).limit(2)));
+        search.setDescending(true);
+        assertEquals(List.of(149, 148), ids(archive.search(search, null).limit(2)));
+        assertEquals(List.of(149, 148), ids(archive.search(search, 147)));
+
+        GameSearchDto byPlayer = new GameSearchDto();
+        byPlayer.setPlayer(new User("player3@mail.com", "3", "3", "3"));
+        byPlayer.setPlayerColor(PlayerColor.BLACK);
+        assertTrue(ids(archive.search(byPlayer, null)).stream().allMatch(gameId -> (gameId + 1) % 10 == 3));
+        byPlayer.setPlayerColor(null);
+        assertEquals(40, ids(archive.search(byPlayer, null)).size());
+    }
+
+    @Test
+    void monthsWithOverlappingIdsAreStreamedInIdOrder() {
+        GameArchive archive = new GameArchive(directory, 4);
+        archive.write(JANUARY, List.of(game(1, "a", "b"), game(3, "a", "b"), game(5, "a", "b")));
+        archive.write(FEBRUARY, List.of(game(2, "a", "b"), game(4, "a", "b"), game(6, "a", "b")));
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), ids(archive.streamAll()));
+        GameSearchDto search = new GameSearchDto();
+        search.setDescending(true);
+        assertEquals(List.of(6, 5, 4, 3, 2, 1), ids(archive.search(search, null)));
+        assertTrue(archive.findByGameId(4).isPresent());
+    }
+
+    @Test
+    void truncatedSegmentFailsToOpen() throws Exception {
+        new GameArchive(directory, 4).write(JANUARY, games(1, 10));
+        Path segment = directory.resolve("games-2022-01.seg");
+        try (var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(segment) - 4);
+        }
+        assertThrows(UncheckedIOException.class, () -> new GameArchive(directory, 4));
+    }
+
+    @Test
+    void leftoverTemporaryFilesAreRemoved() throws Exception {
+        Path temporary = Files.writeString(directory.resolve("games-2022-01.seg.tmp"), "partial");
+        GameArchive archive = new GameArchive(directory, 4);
+        assertTrue(archive.isEmpty());
+        assertFalse(Files.exists(temporary));
+    }
+}
@@ -0,0 +1,183 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import via.sep3.DatabaseAccessServer.application.Logic.GameArchiver;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.Logic.GameLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.application.Logic.PositionIndexLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.application.Logic.UserStatsLogicImpl;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.PositionIndexLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.UserStats;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class GameArchiverUnitTests {
+    private static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private GamePositionRepository gamePositionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path archiveDirectory;
+
+    private GameArchive gameArchive;
+    private GameArchiver gameArchiver;
+    private GameLogic gameLogic;
+    private UserStatsLogic userStatsLogic;
+    private PositionIndexLogic positionIndexLogic;
+
+    @BeforeEach
+    void init() {
+        gameArchive = new GameArchive(archiveDirectory, 16);
+        UserCache userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        userStatsLogic = new UserStatsLogicImpl(userStatsRepository, gameRepository, gameArchive, userCache, new Leaderboard(userStatsRepository));
+        positionIndexLogic = new PositionIndexLogicImpl(gamePositionRepository, gameRepository, gameArchive);
+        gameLogic = new GameLogicImpl(gameRepository, gameArchive, userCache, userStatsLogic, positionIndexLogic, new GameFeed(16));
+        gameArchiver = new GameArchiver(gameRepository, gameArchive, transactionManager, 6);
+        userRepository.save(new User("1", "1", "1", "1"));
+        userRepository.save(new User("2", "2", "2", "2"));
+    }
+
+    private Game create(String playedAt, GameOutcome outcome) {
+        GameCreationDto dto = new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, outcome);
+        dto.setMoves(List.of("e2e4", "e7e5"));
+        dto.setMoveClocksMillis(List.of(59000L, 58000L));
+        if (playedAt != null) {
+            dto.setPlayedAt(Instant.parse(playedAt));
+        }
+        return gameLogic.create(dto);
+    }
+
+    private List<Integer> ids(Map<String, String> params) {
+        List<Integer> ids = new ArrayList<>();
+        gameLogic.getAll(params).forEach(game -> ids.add(game.getGameId()));
+        return ids;
+    }
+
+    @Test
+    void gamesOfOldMonthsMoveToTheArchive() {
+        Game january = create("2022-01-15T10:00:00Z", GameOutcome.WHITE);
+        Game february = create("2022-02-01T00:00:00Z", GameOutcome.BLACK);
+        Game recent = create(null, GameOutcome.DRAW);
+
+        assertEquals(2, gameArchiver.archiveBefore(YearMonth.now(ZoneOffset.UTC)));
+        assertEquals(List.of(YearMonth.of(2022, 1), YearMonth.of(2022, 2)), new ArrayList<>(gameArchive.months()));
+        assertEquals(1, gameRepository.count());
+        assertTrue(gameRepository.findByGameId(january.getGameId()).isEmpty());
+        assertTrue(gameRepository.findByGameId(recent.getGameId()).isPresent());
+        assertEquals(0, gameArchiver.archiveBefore(YearMonth.now(ZoneOffset.UTC)));
+        assertEquals(february.getGameId(), gameArchive.findByGameId(february.getGameId()).orElseThrow().gameId());
+    }
+
+    @Test
+    void archivedGamesAreStillReadById() {
+        Game game = create("2022-01-15T10:00:00Z", GameOutcome.WHITE);
+        gameArchiver.archiveBefore(YearMonth.now(ZoneOffset.UTC));
+
+        Game found = gameLogic.getByGameId(game.getGameId()).orElseThrow();
+        assertEquals("1", found.getPlayerWhite().getUsername());
+        assertEquals("2", found.getPlayerBlack().getUsername());
+        assertEquals(GameOutcome.WHITE, found.getGameOutcome());
+        assertEquals(Instant.parse("2022-01-15T10:00:00Z"), found.getPlayedAt());
+        assertEquals(List.of("e2e4", "e7e5"), gameLogic.getMoves(game.getGameId()).orElseThrow().getMoves());
+        assertEquals(List.of(59000L, 58000L), gameLogic.getMoves(game.getGameId()).orElseThrow().getMoveClocksMillis());
+    }
+
+    @Test
+    void searchesPageThroughArchivedAndRecentGames() {
+        List<Integer> all = new ArrayList<>();
+        all.add(create("2022-01-15T10:00:00Z", GameOutcome.WHITE).getGameId());
+        all.add(create(null, GameOutcome.DRAW).getGameId());
+        all.add(create("2022-02-15T10:00:00Z", GameOutcome.WHITE).getGameId());
+        all.add(create(null, GameOutcome.WHITE).getGameId());
+        gameArchiver.archiveBefore(YearMonth.now(ZoneOffset.UTC));
+
+        assertEquals(all, ids(Map.of()));
+        assertEquals(all.subList(0, 2), ids(Map.of("limit", "2")));
+        assertEquals(all.subList(2, 4), ids(Map.of("limit", "2", "after", String.valueOf(all.get(1)))));
+        assertEquals(List.of(all.get(3), all.get(2)), ids(Map.of("limit", "2", "order", "desc")));
+        assertEquals(List.of(all.get(3), all.get(2), all.get(0)), ids(Map.of("player", "2", "gameOutcome", "WHITE", "order", "desc")));
+
+        List<Integer> streamed = new ArrayList<>();
+        gameLogic.streamAll(Map.of("creator", "1"), game -> streamed.add(game.getGameId()));
+        assertEquals(all, streamed);
+        GameSummaryDto summary = gameLogic.getAll(Map.of("limit", "1")).iterator().next();
+        assertEquals("1", summary.getCreator());
+        assertEquals("2", summary.getPlayerBlack());
+    }
+
+    @Test
+    void rebuildsIncludeArchivedGames() {
+        create("2022-01-15T10:00:00Z", GameOutcome.WHITE);
+        create(null, GameOutcome.BLACK);
+        UserStats before = userStatsLogic.getByUsername("1").orElseThrow();
+        double rating = before.getRating();
+        gameArchiver.archiveBefore(YearMonth.now(ZoneOffset.UTC));
+
+        userStatsLogic.rebuild();
+        UserStats after = userStatsLogic.getByUsername("1").orElseThrow();
+        assertEquals(2, after.getGamesPlayed());
+        assertEquals(rating, after.getRating(), 1e-9);
+
+        positionIndexLogic.rebuild();
+        assertEquals(2, positionIndexLogic.search(START, 20).getGames());
+    }
+
+    @Test
+    void rebuildsCountGamesInBothPlacesOnce() {
+        create("2022-01-15T10:00:00Z", GameOutcome.WHITE);
+        Game leftOver = create("2022-02-15T10:00:00Z", GameOutcome.BLACK);
+        gameArchiver.archiveBefore(YearMonth.of(2022, 2));
+        // Like an archiver run whose delete failed
+        gameArchive.write(YearMonth.of(2022, 2), gameRepository.findPlayedBetween(Instant.parse("2022-02-01T00:00:00Z"), Instant.parse("2022-03-01T00:00:00Z")));
+        assertTrue(gameRepository.findByGameId(leftOver.getGameId()).isPresent());
+        assertTrue(gameArchive.findByGameId(leftOver.getGameId()).isPresent());
+        double rating = userStatsLogic.getByUsername("1").orElseThrow().getRating();
+
+        userStatsLogic.rebuild();
+        UserStats after = userStatsLogic.getByUsername("1").orElseThrow();
+        assertEquals(2, after.getGamesPlayed());
+        assertEquals(rating, after.getRating(), 1e-9);
+
+        positionIndexLogic.rebuild();
+        assertEquals(2, positionIndexLogic.search(START, 20).getGames());
+    }
+}
@@ -0,0 +1,127 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameFeedUnitTests {
+    private final User white = new User("white@feed", "white", "p", "user");
+    private final User black = new User("black@feed", "black", "p", "user");
+
+    private GameFeed gameFeed;
+
+    @BeforeEach
+    void init() {
+        gameFeed = new GameFeed(4);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tailOnlySeesGamesStoredAfterwards() {
+        gameFeed.publish(List.of(game(1)));
+        GameFeed.Cursor cursor = gameFeed.tail();
+        gameFeed.publish(List.of(game(2), game(3)));
+
+        assertEquals(List.of(2, 3), gameIds(cursor.poll(10)));
+        assertFalse(cursor.hasNext());
+        assertTrue(cursor.poll(10).isEmpty());
+    }
+
+    @Test
+    void pollReturnsAtMostMax() {
+        GameFeed.Cursor cursor = gameFeed.tail();
+        gameFeed.publish(List.of(game(1), game(2), game(3)));
+
+        assertEquals(List.of(1, 2), gameIds(cursor.poll(2)));
+        assertTrue(cursor.hasNext());
+        assertEquals(List.of(3), gameIds(cursor.poll(2)));
+    }
+
+    @Test
+    void resumesRightAfterTheGameInCommitOrder() {
+        // Ids are taken before commit, so a lower id can be stored later
+        gameFeed.publish(List.of(game(1), game(3), game(2), game(4)));
+
+        GameFeed.Cursor cursor = gameFeed.resume(3).orElseThrow();
+
+        assertEquals(List.of(2, 4), gameIds(cursor.poll(10)));
+    }
+
+    @Test
+    void cannotResumeFromOverwrittenGame() {
+        gameFeed.publish(List.of(game(1), game(2), game(3), game(4), game(5)));
+
+        assertTrue(gameFeed.resume(1).isEmpty());
+        assertTrue(gameFeed.resume(2).isPresent());
+        assertTrue(gameFeed.resume(6).isEmpty());
+    }
+
+    @Test
+    void cursorFallsBehindWhenItsGamesAreOverwritten() {
+        GameFeed.Cursor cursor = gameFeed.tail();
+        gameFeed.publish(List.of(game(1), game(2), game(3), game(4)));
+        assertEquals(List.of(1), gameIds(cursor.poll(1)));
+
+        gameFeed.publish(List.of(game(5), game(6)));
+
+        assertTrue(cursor.poll(10).isEmpty());
+        assertTrue(cursor.isBehind());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    void skippedGamesAreOnlyLeftOutUpToTheSkip() {
+        GameFeed.Cursor cursor = gameFeed.tail();
+        gameFeed.publish(List.of(game(1), game(2)));
+        cursor.skip(Set.of(1, 3));
+        gameFeed.publish(List.of(game(3)));
+
+        assertEquals(List.of(2, 3), gameIds(cursor.poll(10)));
+    }
+
+    @Test
+    void gamesAreOnlyAddedOnceCommitted() {
+        AtomicInteger wakeUps = new AtomicInteger();
+        gameFeed.addListener(wakeUps::incrementAndGet);
+        GameFeed.Cursor cursor = gameFeed.tail();
+
+        TransactionSynchronizationManager.initSynchronization();
+        gameFeed.publish(List.of(game(1)));
+        assertFalse(cursor.hasNext());
+        assertEquals(0, wakeUps.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(1), gameIds(cursor.poll(10)));
+        assertEquals(1, wakeUps.get());
+    }
+
+    private Game game(int gameId) {
+        Game game = new Game(white, white, black, GameType.FRIEND, 180, 2, GameOutcome.DRAW);
+        game.setGameId(gameId);
+        return game;
+    }
+
+    private static List<Integer> gameIds(List<GameSummaryDto> games) {
+        return games.stream().map(GameSummaryDto::getGameId).toList();
+    }
+}
@@ -0,0 +1,180 @@
+package via.sep3.DatabaseAccessServer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import via.sep3.DatabaseAccessServer.application.Logic.GameJournal;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class GameJournalUnitTests {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModules(new ParameterNamesModule(), new JavaTimeModule());
+    private final List<String> storedKeys = new CopyOnWriteArrayList<>();
+    private GameLogic workingLogic;
+    private GameLogic failingLogic;
+
+    @BeforeEach
+    void init() {
+        workingLogic = mock(GameLogic.class);
+        when(workingLogic.createAll(anyList())).thenAnswer(invocation -> {
+            List<GameCreationDto> dtos = invocation.getArgument(0);
+            dtos.forEach(dto -> storedKeys.add(dto.getIdempotencyKey()));
+            return List.of();
+        });
+        failingLogic = mock(GameLogic.class);
+        when(failingLogic.createAll(anyList())).thenThrow(new IllegalStateException("Database is down"));
+    }
+
+    private GameJournal open(GameLogic gameLogic, DataSize size) throws Exception {
+        GameJournal journal = new GameJournal(gameLogic, objectMapper, directory.resolve("games.journal"), size, 500, Duration.ofHours(1));
+        journal.open();
+        return journal;
+    }
+
+    private static GameCreationDto game(String idempotencyKey) {
+        GameCreationDto dto = new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, GameOutcome.DRAW);
+        dto.setIdempotencyKey(idempotencyKey);
+        return dto;
+    }
+
+    private void awaitStored(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && storedKeys.size() < count; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void appendedGamesAreStored() throws Exception {
+        GameJournal journal = open(workingLogic, DataSize.ofKilobytes(64));
+        assertTrue(journal.append(game("a")));
+        assertTrue(journal.append(game("b")));
+        awaitStored(2);
+        journal.close();
+        assertEquals(List.of("a", "b"), storedKeys);
+        assertEquals(0, journal.pendingGames());
+    }
+
+    @Test
+    void appendingGameWithoutIdempotencyKeyAssignsOne() throws Exception {
+        GameJournal journal = open(failingLogic, DataSize.ofKilobytes(64));
+        GameCreationDto dto = game(null);
+        journal.append(dto);
+        journal.close();
+        assertNotNull(dto.getIdempotencyKey());
+    }
+
+    @Test
+    void appendingInvalidGameThrowsIllegalArgumentException() throws Exception {
+        doThrow(new IllegalArgumentException("Creator does not exist")).when(failingLogic).validate(any());
+        GameJournal journal = open(failingLogic, DataSize.ofKilobytes(64));
+        assertThrows(IllegalArgumentException.class, () -> journal.append(game("a")));
+        assertEquals(0, journal.pendingGames());
+        journal.close();
+    }
+
+    @Test
+    void appendingSameIdempotencyKeyTwiceJournalsGameOnce() throws Exception {
+        GameJournal journal = open(failingLogic, DataSize.ofKilobytes(64));
+        journal.append(game("a"));
+        journal.append(game("a"));
+        assertEquals(1, journal.pendingGames());
+        journal.close();
+    }
+
+    @Test
+    void gamesNotStoredBeforeRestartAreReplayed() throws Exception {
+        GameJournal journal = open(failingLogic, DataSize.ofKilobytes(64));
+        journal.append(game("a"));
+        journal.append(game("b"));
+        journal.close();
+
+        GameJournal reopened = open(workingLogic, DataSize.ofKilobytes(64));
+        awaitStored(2);
+        reopened.close();
+        assertEquals(List.of("a", "b"), storedKeys);
+    }
+
+    @Test
+    void partlyWrittenRecordIsDroppedOnRestart() throws Exception {
+        GameJournal journal = open(failingLogic, DataSize.ofKilobytes(64));
+        journal.append(game("a"));
+        journal.append(game("b"));
+        journal.close();
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("games.journal").toFile(), "rw")) {
+            // The last payload byte of the second record, which ends right before the end marker
+            long end = 8;
+            while (true) {
+                file.seek(end);
+                int length = file.readInt();
+                if (length == 0) {
+                    break;
+                }
+                end += 8 + length;
+            }
+            file.seek(end - 1);
+            file.write('x');
+        }
+
+        GameJournal reopened = open(workingLogic, DataSize.ofKilobytes(64));
+        reopened.append(game("c"));
+        awaitStored(2);
+        reopened.close();
+        assertEquals(List.of("a", "c"), storedKeys);
+    }
+
+    @Test
+    void appendingToFullJournalReturnsFalse() throws Exception {
+        GameJournal journal = open(failingLogic, DataSize.ofBytes(512));
+        List<Boolean> appended = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            appended.add(journal.append(game("key" + i)));
+        }
+        journal.close();
+        assertTrue(appended.get(0));
+        assertFalse(appended.get(9));
+    }
+
+    @Test
+    void invalidGameInBatchDoesNotBlockTheRest() throws Exception {
+        GameLogic gameLogic = mock(GameLogic.class);
+        when(gameLogic.createAll(anyList())).thenThrow(new IllegalArgumentException("Creator does not exist"));
+        when(gameLogic.create(any())).thenAnswer(invocation -> {
+            GameCreationDto dto = invocation.getArgument(0);
+            if (dto.getIdempotencyKey().equals("bad")) {
+                throw new IllegalArgumentException("Creator does not exist");
+            }
+            storedKeys.add(dto.getIdempotencyKey());
+            return null;
+        });
+        GameJournal journal = open(gameLogic, DataSize.ofKilobytes(64));
+        journal.append(game("a"));
+        journal.append(game("bad"));
+        journal.append(game("c"));
+        awaitStored(2);
+        Thread.sleep(50);
+        journal.close();
+        assertEquals(List.of("a", "c"), storedKeys);
+        assertEquals(0, journal.pendingGames());
+    }
+}
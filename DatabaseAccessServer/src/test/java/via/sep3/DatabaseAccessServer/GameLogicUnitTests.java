@@ -2,18 +2,35 @@ package via.sep3.DatabaseAccessServer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
 import via.sep3.DatabaseAccessServer.application.Logic.GameLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.application.Logic.PositionIndexLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserStatsLogicImpl;
 import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
 import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameMovesDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameSummaryDto;
 import via.sep3.DatabaseAccessServer.domain.Game;
 import via.sep3.DatabaseAccessServer.domain.User;
 import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
 import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
 import via.sep3.DatabaseAccessServer.repository.GameRepository;
 import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,13 +44,22 @@ public class GameLogicUnitTests {
     private UserRepository userRepository;
     @Autowired
     private GameRepository gameRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private GamePositionRepository gamePositionRepository;
 
     private GameLogic gameLogic;
     private GameCreationDto gameCreationDto;
 
+    @TempDir
+    Path archiveDirectory;
+
     @BeforeEach
     void init() {
-        gameLogic = new GameLogicImpl(gameRepository, userRepository);
+        GameArchive gameArchive = new GameArchive(archiveDirectory, 16);
+        UserCache userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        gameLogic = new GameLogicImpl(gameRepository, gameArchive, userCache, new UserStatsLogicImpl(userStatsRepository, gameRepository, gameArchive, userCache, new Leaderboard(userStatsRepository)), new PositionIndexLogicImpl(gamePositionRepository, gameRepository, gameArchive), new GameFeed(16));
         User playerOne = new User("1", "1", "1", "1");
         User playerTwo = new User("2", "2", "2", "2");
         userRepository.save(playerOne);
@@ -77,4 +103,165 @@ public class GameLogicUnitTests {
         assertFalse(found.isPresent());
     }
 
+    //Get all
+    @Test
+    void getAllReturnsPageAfterGivenGameId() {
+        Game first = gameLogic.create(gameCreationDto);
+        Game second = gameLogic.create(gameCreationDto);
+        Game third = gameLogic.create(gameCreationDto);
+        List<GameSummaryDto> page = new ArrayList<>();
+        gameLogic.getAll(Map.of("after", String.valueOf(first.getGameId()), "limit", "1")).forEach(page::add);
+        assertEquals(1, page.size());
+        assertEquals(second.getGameId(), page.get(0).getGameId());
+        assertTrue(third.getGameId() > page.get(0).getGameId());
+    }
+
+    @Test
+    void getAllWithLimitAboveMaximumThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> gameLogic.getAll(Map.of("limit", "100000")));
+    }
+
+    @Test
+    void streamAllVisitsEveryGameOfCreatorInOrder() {
+        gameLogic.create(gameCreationDto);
+        gameLogic.create(gameCreationDto);
+        List<Integer> ids = new ArrayList<>();
+        gameLogic.streamAll(Map.of("creator", "1"), game -> ids.add(game.getGameId()));
+        assertEquals(2, ids.size());
+        assertTrue(ids.get(0) < ids.get(1));
+    }
+
+    @Test
+    void getAllReturnsPlayerUsernamesInsteadOfUsers() {
+        gameLogic.create(gameCreationDto);
+        GameSummaryDto summary = gameLogic.getAll(Map.of()).iterator().next();
+        assertEquals("1", summary.getCreator());
+        assertEquals("1", summary.getPlayerWhite());
+        assertEquals("2", summary.getPlayerBlack());
+    }
+
+    //Search
+    @Test
+    void getAllByPlayerAndColorReturnsOnlyGamesPlayedWithThatColor() {
+        gameLogic.create(gameCreationDto);
+        gameLogic.create(new GameCreationDto("2", "2", "1", GameType.FRIEND, 300, 0, GameOutcome.WHITE));
+        List<GameSummaryDto> games = new ArrayList<>();
+        gameLogic.getAll(Map.of("player", "2", "color", "white")).forEach(games::add);
+        assertEquals(1, games.size());
+        assertEquals("2", games.get(0).getPlayerWhite());
+    }
+
+    @Test
+    void getAllCombinesFiltersAndOrdersDescending() {
+        Game first = gameLogic.create(gameCreationDto);
+        Game second = gameLogic.create(gameCreationDto);
+        gameLogic.create(new GameCreationDto("2", "2", "1", GameType.FRIEND, 300, 0, GameOutcome.WHITE));
+        List<GameSummaryDto> games = new ArrayList<>();
+        gameLogic.getAll(Map.of("player", "1", "gameType", "random", "gameOutcome", "draw",
+                "minTimeControlDurationSeconds", "30", "maxTimeControlDurationSeconds", "60", "order", "desc")).forEach(games::add);
+        assertEquals(2, games.size());
+        assertEquals(second.getGameId(), games.get(0).getGameId());
+        assertEquals(first.getGameId(), games.get(1).getGameId());
+    }
+
+    @Test
+    void getAllParsesFiltersRegardlessOfDefaultLocale() {
+        gameLogic.create(new GameCreationDto("2", "2", "1", GameType.FRIEND, 300, 0, GameOutcome.WHITE));
+        Locale defaultLocale = Locale.getDefault();
+        // Upper-cases the i of friend to a dotted one
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertTrue(gameLogic.getAll(Map.of("gameType", "friend", "gameOutcome", "white")).iterator().hasNext());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void getAllByNonExistentPlayerReturnsNoGames() {
+        gameLogic.create(gameCreationDto);
+        assertFalse(gameLogic.getAll(Map.of("player", "nonExistent")).iterator().hasNext());
+    }
+
+    @Test
+    void getAllWithColorButWithoutPlayerThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> gameLogic.getAll(Map.of("color", "white")));
+    }
+
+    //Create all
+    @Test
+    void createAllSavesEveryGameWithDistinctIds() {
+        GameCreationDto other = new GameCreationDto("2", "2", "1", GameType.FRIEND, 300, 0, GameOutcome.WHITE);
+        List<GameSummaryDto> created = gameLogic.createAll(List.of(gameCreationDto, other, gameCreationDto));
+        assertEquals(3, created.size());
+        assertEquals(3, created.stream().map(GameSummaryDto::getGameId).distinct().count());
+        assertEquals("2", created.get(1).getPlayerWhite());
+        assertTrue(gameLogic.getByGameId(created.get(2).getGameId()).isPresent());
+    }
+
+    @Test
+    void createAllWithNonExistentPlayerThrowsIllegalArgumentExceptionAndSavesNothing() {
+        GameCreationDto invalid = new GameCreationDto("1", "1", "nonExistent", GameType.FRIEND, 300, 0, GameOutcome.WHITE);
+        assertThrows(IllegalArgumentException.class, () -> gameLogic.createAll(List.of(gameCreationDto, invalid)));
+        assertFalse(gameLogic.getAll(Map.of()).iterator().hasNext());
+    }
+
+    //Moves
+    @Test
+    void getMovesReturnsStoredMovesAndClocks() {
+        gameCreationDto.setMoves(List.of("e2e4", "e7e5", "d1h5"));
+        gameCreationDto.setMoveClocksMillis(List.of(59_000L, 58_500L, 57_100L));
+        Game game = gameLogic.create(gameCreationDto);
+        GameMovesDto moves = gameLogic.getMoves(game.getGameId()).orElseThrow();
+        assertEquals(List.of("e2e4", "e7e5", "d1h5"), moves.getMoves());
+        assertEquals(List.of(59_000L, 58_500L, 57_100L), moves.getMoveClocksMillis());
+    }
+
+    @Test
+    void getMovesOfGameWithoutMovesReturnsEmptyLists() {
+        Game game = gameLogic.create(gameCreationDto);
+        assertTrue(gameLogic.getMoves(game.getGameId()).orElseThrow().getMoves().isEmpty());
+    }
+
+    @Test
+    void creatingGameWithInvalidMoveThrowsIllegalArgumentException() {
+        gameCreationDto.setMoves(List.of("e2e4", "e9e5"));
+        assertThrows(IllegalArgumentException.class, () -> gameLogic.create(gameCreationDto));
+    }
+
+    @Test
+    void creatingGameWithMoreClocksThanMovesThrowsIllegalArgumentException() {
+        gameCreationDto.setMoves(List.of("e2e4"));
+        gameCreationDto.setMoveClocksMillis(List.of(1000L, 2000L));
+        assertThrows(IllegalArgumentException.class, () -> gameLogic.create(gameCreationDto));
+    }
+
+    //Idempotency
+    @Test
+    void creatingGameTwiceWithSameIdempotencyKeyReturnsFirstGame() {
+        gameCreationDto.setIdempotencyKey("key");
+        Game first = gameLogic.create(gameCreationDto);
+        Game second = gameLogic.create(gameCreationDto);
+        assertEquals(first.getGameId(), second.getGameId());
+        assertEquals(1, gameRepository.count());
+    }
+
+    @Test
+    void creatingBatchWithRepeatedIdempotencyKeysStoresEachGameOnce() {
+        gameCreationDto.setIdempotencyKey("key");
+        Game existing = gameLogic.create(gameCreationDto);
+        GameCreationDto other = new GameCreationDto("1", "2", "1", GameType.AI, 60, 0, GameOutcome.BLACK);
+        other.setIdempotencyKey("other");
+        List<GameSummaryDto> summaries = gameLogic.createAll(List.of(gameCreationDto, other, other));
+        assertEquals(3, summaries.size());
+        assertEquals(existing.getGameId(), summaries.get(0).getGameId());
+        assertEquals(summaries.get(1).getGameId(), summaries.get(2).getGameId());
+        assertEquals(2, gameRepository.count());
+    }
+
+    @Test
+    void creatingGameWithTooLongIdempotencyKeyThrowsIllegalArgumentException() {
+        gameCreationDto.setIdempotencyKey("k".repeat(65));
+        assertThrows(IllegalArgumentException.class, () -> gameLogic.create(gameCreationDto));
+    }
 }
@@ -0,0 +1,238 @@
+package via.sep3.DatabaseAccessServer;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.Logic.GameLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.application.Logic.PositionIndexLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.application.Logic.UserLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserStatsLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UsernameIndex;
+import via.sep3.DatabaseAccessServer.controller.GameGrpcService;
+import via.sep3.DatabaseAccessServer.controller.UserGrpcService;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.grpc.*;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class GrpcServiceUnitTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private GamePositionRepository gamePositionRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Server server;
+    private ManagedChannel channel;
+    private UserServiceGrpc.UserServiceBlockingStub users;
+    private GameServiceGrpc.GameServiceBlockingStub games;
+    private GameLogicImpl gameLogic;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @BeforeEach
+    void init() throws Exception {
+        GameArchive gameArchive = new GameArchive(archiveDirectory, 16);
+        UserCache userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        UsernameIndex usernameIndex = new UsernameIndex(userRepository);
+        usernameIndex.rebuild();
+        UserLogicImpl userLogic = new UserLogicImpl(userRepository, userCache, usernameIndex, entityManager);
+        gameLogic = new GameLogicImpl(gameRepository, gameArchive, userCache, new UserStatsLogicImpl(userStatsRepository, gameRepository, gameArchive, userCache, new Leaderboard(userStatsRepository)), new PositionIndexLogicImpl(gamePositionRepository, gameRepository, gameArchive), new GameFeed(16));
+
+        String name = InProcessServerBuilder.generateName();
+        // directExecutor keeps the calls on the test thread, which owns the test transaction
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(new UserGrpcService(userLogic))
+                .addService(new GameGrpcService(gameLogic))
+                .build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        users = UserServiceGrpc.newBlockingStub(channel);
+        games = GameServiceGrpc.newBlockingStub(channel);
+
+        users.create(User.newBuilder().setEmail("1").setUsername("1").setPassword("1").setRole("1").build());
+        users.create(User.newBuilder().setEmail("2").setUsername("2").setPassword("2").setRole("2").build());
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static GameCreation gameCreation() {
+        return GameCreation.newBuilder().setCreator("1").setPlayerWhite("1").setPlayerBlack("2")
+                .setGameType(GameType.RANDOM).setTimeControlDurationSeconds(60).setTimeControlIncrementSeconds(5)
+                .setGameOutcome(GameOutcome.DRAW).addMoves("e2e4").addMoveClocksMillis(1000).build();
+    }
+
+    // The grpc package has its own GameType and GameOutcome
+    private static GameCreationDto gameCreationDto() {
+        return new GameCreationDto("1", "1", "2", via.sep3.DatabaseAccessServer.domain.enums.GameType.RANDOM, 60, 5,
+                via.sep3.DatabaseAccessServer.domain.enums.GameOutcome.DRAW);
+    }
+
+    @Test
+    void createdGameCanBeReadBack() {
+        Game game = games.create(gameCreation());
+
+        Game found = games.getByGameId(GameIdRequest.newBuilder().setGameId(game.getGameId()).build());
+        assertEquals("2", found.getPlayerBlack().getUsername());
+        assertEquals(GameOutcome.DRAW, found.getGameOutcome());
+        assertEquals(List.of("e2e4"), games.getMoves(GameIdRequest.newBuilder().setGameId(game.getGameId()).build()).getMovesList());
+    }
+
+    @Test
+    void errorsAreMappedToStatusCodes() {
+        StatusRuntimeException login = assertThrows(StatusRuntimeException.class,
+                () -> users.login(UserLogin.newBuilder().setEmail("1").setPassword("wrong").build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, login.getStatus().getCode());
+
+        StatusRuntimeException missing = assertThrows(StatusRuntimeException.class,
+                () -> users.getByUsername(UsernameRequest.newBuilder().setUsername("nonExistent").build()));
+        assertEquals(Status.Code.NOT_FOUND, missing.getStatus().getCode());
+    }
+
+    @Test
+    void gamesAreStreamedToClient() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            games.create(gameCreation());
+        }
+
+        // The async stub keeps requesting messages, a blocking iterator would wait on this same thread
+        List<GameSummary> received = new ArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        GameServiceGrpc.newStub(channel).getAll(Query.newBuilder().putParams("player", "2").build(), new StreamObserver<>() {
+            @Override
+            public void onNext(GameSummary value) {
+                received.add(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.complete(null);
+            }
+        });
+        completed.get(5, TimeUnit.SECONDS);
+        assertEquals(3, received.size());
+    }
+
+    @Test
+    void moreGamesThanTheClientAsksForAreStreamedOnPooledThreads() throws Exception {
+        int count = 1500;
+        for (int created = 0; created < count; created += 500) {
+            List<GameCreationDto> batch = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                batch.add(gameCreationDto());
+            }
+            gameLogic.createAll(batch);
+        }
+        // The server reads on its own threads, which only see committed games
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // Without directExecutor, the callbacks of a call take turns on one serializing executor, and
+        // the client only asks for one message at a time, so the server has to wait for it over and over
+        String name = InProcessServerBuilder.generateName();
+        Server pooledServer = InProcessServerBuilder.forName(name).addService(new GameGrpcService(gameLogic)).build().start();
+        ManagedChannel pooledChannel = InProcessChannelBuilder.forName(name).build();
+        try {
+            AtomicInteger received = new AtomicInteger();
+            CompletableFuture<Void> completed = new CompletableFuture<>();
+            GameServiceGrpc.newStub(pooledChannel).getAll(Query.newBuilder().putParams("player", "2").build(), new StreamObserver<>() {
+                @Override
+                public void onNext(GameSummary value) {
+                    received.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    completed.completeExceptionally(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    completed.complete(null);
+                }
+            });
+            completed.get(30, TimeUnit.SECONDS);
+            assertEquals(count, received.get());
+        } finally {
+            pooledChannel.shutdownNow();
+            pooledServer.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            TestTransaction.start();
+            gamePositionRepository.deleteAllPositions();
+            gameRepository.deleteAll();
+            userStatsRepository.deleteAllStats();
+            userRepository.deleteAll();
+            TestTransaction.flagForCommit();
+        }
+    }
+
+    @Test
+    void gamesAreCreatedFromClientStream() throws Exception {
+        CompletableFuture<GameSummaries> result = new CompletableFuture<>();
+        StreamObserver<GameCreation> requests = GameServiceGrpc.newStub(channel).createAll(new StreamObserver<>() {
+            @Override
+            public void onNext(GameSummaries value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            requests.onNext(gameCreation());
+        }
+        requests.onCompleted();
+
+        assertEquals(5, result.get(5, TimeUnit.SECONDS).getGamesCount());
+    }
+}
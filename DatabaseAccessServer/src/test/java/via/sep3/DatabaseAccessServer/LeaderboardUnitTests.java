@@ -0,0 +1,101 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.domain.DTOs.LeaderboardEntryDto;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.UserStats;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class LeaderboardUnitTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void init() {
+        leaderboard = new Leaderboard(userStatsRepository);
+    }
+
+    @Test
+    void usersAreRankedByRatingThenUsername() {
+        leaderboard.update("carl", 1500);
+        leaderboard.update("bob", 1600);
+        leaderboard.update("alice", 1500);
+
+        List<LeaderboardEntryDto> page = leaderboard.page(0, 10);
+        assertEquals(List.of("bob", "alice", "carl"), page.stream().map(LeaderboardEntryDto::getUsername).toList());
+        assertEquals(3, leaderboard.rank("carl").orElseThrow().getRank());
+    }
+
+    @Test
+    void ratingChangeMovesUser() {
+        leaderboard.update("alice", 1500);
+        leaderboard.update("bob", 1600);
+        leaderboard.update("alice", 1700);
+
+        assertEquals(1, leaderboard.rank("alice").orElseThrow().getRank());
+        assertEquals(2, leaderboard.rank("bob").orElseThrow().getRank());
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void rankOfUnknownUserIsEmpty() {
+        assertTrue(leaderboard.rank("nonExistent").isEmpty());
+    }
+
+    @Test
+    void ranksAndPagesMatchSortedRatings() {
+        Random random = new Random(42);
+        Map<String, Double> ratings = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String username = "user" + random.nextInt(1000);
+            double rating = 1000 + random.nextInt(1000);
+            ratings.put(username, rating);
+            leaderboard.update(username, rating);
+        }
+        List<String> expected = new ArrayList<>(ratings.keySet());
+        expected.sort(Comparator.comparing((String username) -> -ratings.get(username)).thenComparing(Comparator.naturalOrder()));
+
+        assertEquals(expected.size(), leaderboard.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, leaderboard.rank(expected.get(i)).orElseThrow().getRank());
+        }
+        assertEquals(expected.subList(250, 300), leaderboard.page(250, 50).stream().map(LeaderboardEntryDto::getUsername).toList());
+        assertEquals(expected.subList(expected.size() - 5, expected.size()), leaderboard.page(expected.size() - 5, 50).stream().map(LeaderboardEntryDto::getUsername).toList());
+    }
+
+    @Test
+    void rebuildLoadsRatingsFromDatabase() {
+        userRepository.save(new User("1", "one", "1", "1"));
+        userRepository.save(new User("2", "two", "2", "2"));
+        UserStats first = new UserStats("1");
+        first.setRating(1400);
+        UserStats second = new UserStats("2");
+        second.setRating(1450);
+        userStatsRepository.save(first);
+        userStatsRepository.save(second);
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of("two", "one"), leaderboard.page(0, 10).stream().map(LeaderboardEntryDto::getUsername).toList());
+    }
+}
@@ -0,0 +1,199 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import via.sep3.DatabaseAccessServer.application.Logic.MatchmakingPool;
+import via.sep3.DatabaseAccessServer.domain.enums.MatchmakingStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchmakingPoolUnitTests {
+    private static final MatchmakingPool.TimeControl BLITZ = new MatchmakingPool.TimeControl(180, 2);
+    private static final MatchmakingPool.TimeControl RAPID = new MatchmakingPool.TimeControl(600, 0);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private MatchmakingPool pool;
+
+    @BeforeEach
+    void init() {
+        // Windows start at 50 and grow by 10 per second up to 400
+        pool = new MatchmakingPool(100, 50, 10, 400, TimeUnit.MINUTES.toNanos(1), TimeUnit.MINUTES.toNanos(1), nanoTime::get);
+    }
+
+    @Test
+    void playerIsPairedRightAwayWithWaitingPlayerWithinWindow() {
+        MatchmakingPool.Ticket waiting = pool.enqueue("a", 1500, BLITZ);
+        MatchmakingPool.Ticket arriving = pool.enqueue("b", 1540, BLITZ);
+
+        assertEquals(MatchmakingStatus.MATCHED, waiting.getStatus());
+        assertEquals(MatchmakingStatus.MATCHED, arriving.getStatus());
+        assertSame(waiting.getPairing(), arriving.getPairing());
+        assertEquals(Set.of("a", "b"), Set.of(arriving.getPairing().playerWhite(), arriving.getPairing().playerBlack()));
+    }
+
+    @Test
+    void playersOfOtherTimeControlsAreNotPaired() {
+        MatchmakingPool.Ticket blitz = pool.enqueue("a", 1500, BLITZ);
+        MatchmakingPool.Ticket rapid = pool.enqueue("b", 1500, RAPID);
+
+        assertEquals(MatchmakingStatus.WAITING, blitz.getStatus());
+        assertEquals(MatchmakingStatus.WAITING, rapid.getStatus());
+        assertEquals(2, pool.waiting());
+    }
+
+    @Test
+    void windowsGrowUntilSweepPairsPlayers() {
+        MatchmakingPool.Ticket low = pool.enqueue("a", 1400, BLITZ);
+        MatchmakingPool.Ticket high = pool.enqueue("b", 1520, BLITZ);
+        assertEquals(0, pool.sweep());
+
+        // Both windows are 120 wide after 7 seconds
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(7));
+        assertEquals(1, pool.sweep());
+
+        assertEquals(MatchmakingStatus.MATCHED, low.getStatus());
+        assertEquals(MatchmakingStatus.MATCHED, high.getStatus());
+        assertEquals(0, pool.waiting());
+    }
+
+    @Test
+    void arrivingPlayerNeedsToBeWithinTheWindowOfTheWaitingPlayerToo() {
+        pool.enqueue("a", 1400, BLITZ);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        MatchmakingPool.Ticket arriving = pool.enqueue("b", 1700, BLITZ);
+
+        assertEquals(MatchmakingStatus.WAITING, arriving.getStatus());
+    }
+
+    @Test
+    void longestWaitingPlayerIsPairedFirst() {
+        MatchmakingPool.Ticket first = pool.enqueue("a", 1500, BLITZ);
+        MatchmakingPool.Ticket second = pool.enqueue("b", 1560, BLITZ);
+
+        MatchmakingPool.Ticket arriving = pool.enqueue("c", 1530, BLITZ);
+
+        assertEquals(MatchmakingStatus.MATCHED, arriving.getStatus());
+        assertEquals(MatchmakingStatus.MATCHED, first.getStatus());
+        assertEquals(MatchmakingStatus.WAITING, second.getStatus());
+    }
+
+    @Test
+    void cancelledPlayerIsNotPaired() {
+        MatchmakingPool.Ticket cancelled = pool.enqueue("a", 1500, BLITZ);
+
+        assertTrue(pool.cancel(cancelled));
+        MatchmakingPool.Ticket arriving = pool.enqueue("b", 1500, BLITZ);
+
+        assertEquals(MatchmakingStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(MatchmakingStatus.WAITING, arriving.getStatus());
+    }
+
+    @Test
+    void matchedTicketCannotBeCancelled() {
+        MatchmakingPool.Ticket waiting = pool.enqueue("a", 1500, BLITZ);
+        pool.enqueue("b", 1500, BLITZ);
+
+        assertFalse(pool.cancel(waiting));
+        assertEquals(MatchmakingStatus.MATCHED, waiting.getStatus());
+    }
+
+    @Test
+    void userCanOnlyWaitOnce() {
+        MatchmakingPool.Ticket waiting = pool.enqueue("a", 1500, BLITZ);
+
+        assertThrows(IllegalArgumentException.class, () -> pool.enqueue("a", 1500, RAPID));
+        pool.cancel(waiting);
+        assertEquals(MatchmakingStatus.WAITING, pool.enqueue("a", 1500, RAPID).getStatus());
+    }
+
+    @Test
+    void ticketThatIsNotPolledIsCancelledAndNotPaired() {
+        MatchmakingPool.Ticket lost = pool.enqueue("a", 1500, BLITZ);
+        MatchmakingPool.Ticket polled = pool.enqueue("b", 2000, BLITZ);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(50));
+        pool.find(polled.getTicketId());
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+        assertEquals(MatchmakingStatus.WAITING, pool.enqueue("c", 1500, BLITZ).getStatus());
+        pool.sweep();
+        assertEquals(MatchmakingStatus.CANCELLED, lost.getStatus());
+        assertEquals(MatchmakingStatus.WAITING, polled.getStatus());
+    }
+
+    @Test
+    void userWhoseTicketPassedThePollTimeoutCanQueueAgain() {
+        MatchmakingPool.Ticket lost = pool.enqueue("a", 1500, BLITZ);
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertEquals(MatchmakingStatus.WAITING, pool.enqueue("a", 1500, BLITZ).getStatus());
+        assertEquals(MatchmakingStatus.CANCELLED, lost.getStatus());
+    }
+
+    @Test
+    void finishedTicketsAreForgottenAfterRetention() {
+        MatchmakingPool.Ticket waiting = pool.enqueue("a", 1500, BLITZ);
+        pool.enqueue("b", 1500, BLITZ);
+
+        pool.sweep();
+        assertTrue(pool.find(waiting.getTicketId()).isPresent());
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        pool.sweep();
+        assertTrue(pool.find(waiting.getTicketId()).isEmpty());
+    }
+
+    @Test
+    void concurrentPlayersArePairedAtMostOnce() throws Exception {
+        int threads = 8;
+        int playersPerThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<MatchmakingPool.Ticket>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                List<MatchmakingPool.Ticket> tickets = new ArrayList<>();
+                for (int i = 0; i < playersPerThread; i++) {
+                    MatchmakingPool.Ticket ticket = pool.enqueue(thread + "-" + i, 1200 + (i * 37 + thread * 11) % 600, i % 2 == 0 ? BLITZ : RAPID);
+                    tickets.add(ticket);
+                    if (i % 10 == 0) {
+                        pool.cancel(ticket);
+                    }
+                    if (i % 100 == 0) {
+                        pool.sweep();
+                    }
+                }
+                return tickets;
+            }));
+        }
+        List<MatchmakingPool.Ticket> tickets = new ArrayList<>();
+        for (Future<List<MatchmakingPool.Ticket>> future : futures) {
+            tickets.addAll(future.get());
+        }
+        executor.shutdown();
+
+        Set<String> paired = new HashSet<>();
+        int matched = 0;
+        for (MatchmakingPool.Ticket ticket : tickets) {
+            if (ticket.getStatus() == MatchmakingStatus.MATCHED) {
+                matched++;
+                MatchmakingPool.Pairing pairing = ticket.getPairing();
+                assertEquals(ticket.getTimeControl(), pairing.timeControl());
+                assertTrue(ticket.getUsername().equals(pairing.playerWhite()) || ticket.getUsername().equals(pairing.playerBlack()));
+                paired.add(pairing.playerWhite());
+                paired.add(pairing.playerBlack());
+            }
+        }
+        assertEquals(matched, paired.size());
+        assertEquals(tickets.size(), matched + pool.waiting() + tickets.stream().filter(ticket -> ticket.getStatus() == MatchmakingStatus.CANCELLED).count());
+    }
+}
@@ -0,0 +1,37 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.Test;
+import via.sep3.DatabaseAccessServer.domain.MoveCodec;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveCodecUnitTests {
+
+    @Test
+    void movesAreEncodedInTwoBytesEachAndDecodedBack() {
+        List<String> moves = List.of("e2e4", "e7e5", "g1f3", "b8c6", "e1g1", "a7a8q", "h2h1n");
+        byte[] encoded = MoveCodec.encodeMoves(moves);
+        assertEquals(moves.size() * 2, encoded.length);
+        assertEquals(moves, MoveCodec.decodeMoves(encoded));
+    }
+
+    @Test
+    void encodingInvalidMoveThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.encodeMove("e2e9"));
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.encodeMove("e7e8k"));
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.encodeMove("Nf3"));
+    }
+
+    @Test
+    void clocksAreRoundedToTenthsOfASecond() {
+        List<Long> clocks = List.of(300_000L, 298_740L, 0L, 5_400_000L);
+        assertEquals(List.of(300_000L, 298_700L, 0L, 5_400_000L), MoveCodec.decodeClocks(MoveCodec.encodeClocks(clocks)));
+    }
+
+    @Test
+    void clocksBelowHalfAnHourTakeAtMostTwoBytes() {
+        assertEquals(4, MoveCodec.encodeClocks(List.of(1_000_000L, 1_600_000L)).length);
+    }
+}
@@ -0,0 +1,181 @@
+package via.sep3.DatabaseAccessServer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import via.sep3.DatabaseAccessServer.application.Logic.GameJournal;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.Logic.GameLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.application.Logic.PositionIndexLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.application.Logic.UserStatsLogicImpl;
+import via.sep3.DatabaseAccessServer.controller.GameController;
+import via.sep3.DatabaseAccessServer.domain.ArchivedGame;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.MoveCodec;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class PgnExportUnitTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private GamePositionRepository gamePositionRepository;
+
+    private GameArchive gameArchive;
+    private GameLogicImpl gameLogic;
+    private GameController gameController;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @BeforeEach
+    void init() {
+        gameArchive = new GameArchive(archiveDirectory, 16);
+        UserCache userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        UserStatsLogicImpl userStatsLogic = new UserStatsLogicImpl(userStatsRepository, gameRepository, gameArchive, userCache, new Leaderboard(userStatsRepository));
+        gameLogic = new GameLogicImpl(gameRepository, gameArchive, userCache, userStatsLogic, new PositionIndexLogicImpl(gamePositionRepository, gameRepository, gameArchive), new GameFeed(16));
+        gameController = new GameController(gameLogic, new ObjectMapper(), new DefaultListableBeanFactory().getBeanProvider(GameJournal.class));
+
+        userRepository.save(new User("1", "1", "1", "1"));
+        userRepository.save(new User("2", "2", "2", "2"));
+        userRepository.save(new User("3", "3", "3", "3"));
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private Game create(String white, String black, GameOutcome outcome, List<String> moves, List<Long> clocks) {
+        GameCreationDto dto = new GameCreationDto(white, white, black, GameType.RANDOM, 300, 3, outcome);
+        dto.setMoves(moves);
+        dto.setMoveClocksMillis(clocks);
+        dto.setPlayedAt(Instant.parse("2022-11-05T18:30:00Z"));
+        return gameLogic.create(dto);
+    }
+
+    @Test
+    void exportWritesHeadersAndNumberedMoves() throws IOException {
+        Game game = create("1", "2", GameOutcome.WHITE, List.of("f2f4", "e7e5", "g2g4", "d8h4", "e1f2"), null);
+
+        ResponseEntity<StreamingResponseBody> response = gameController.exportByUsername("1", Map.of());
+        String pgn = body(response);
+
+        assertEquals("application/x-chess-pgn", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("1.pgn"));
+        assertEquals("""
+                [Event "Game against a random opponent"]
+                [Site "?"]
+                [Date "2022.11.05"]
+                [Round "-"]
+                [White "1"]
+                [Black "2"]
+                [Result "1-0"]
+                [TimeControl "300+3"]
+                [GameId "%d"]
+
+                1. f4 e5 2. g4 Qh4+ 3. Kf2 1-0
+
+                """.formatted(game.getGameId()), pgn);
+    }
+
+    @Test
+    void exportWritesClocksAsCommentsAndWrapsLines() throws IOException {
+        create("1", "2", null, List.of("e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6"),
+                List.of(299_000L, 298_500L, 297_000L, 3_600_000L, 61_900L, 0L));
+
+        String pgn = body(gameController.exportByUsername("2", Map.of()));
+        String movetext = pgn.substring(pgn.indexOf("\n\n") + 2);
+
+        assertEquals("1. e4 {[%clk 0:04:59]} 1... e5 {[%clk 0:04:58]} 2. Nf3 {[%clk 0:04:57]} 2... Nc6\n"
+                + "{[%clk 1:00:00]} 3. Bb5 {[%clk 0:01:01]} 3... a6 {[%clk 0:00:00]} *\n\n", movetext);
+    }
+
+    @Test
+    void exportOnlyIncludesTheUsersGames() throws IOException {
+        create("1", "2", GameOutcome.DRAW, List.of(), null);
+        create("2", "3", GameOutcome.BLACK, List.of(), null);
+        create("3", "1", GameOutcome.WHITE, List.of(), null);
+
+        String pgn = body(gameController.exportByUsername("3", Map.of()));
+
+        assertEquals(2, pgn.split("\\[Event ").length - 1);
+        assertFalse(pgn.contains("1/2-1/2"));
+        assertEquals(3, body(gameController.exportAll(Map.of())).split("\\[Event ").length - 1);
+    }
+
+    @Test
+    void exportStopsAtAnIllegalMove() throws IOException {
+        create("1", "2", GameOutcome.DRAW, List.of("e2e4", "e2e4", "e7e5"), null);
+
+        String pgn = body(gameController.exportAll(Map.of()));
+
+        assertTrue(pgn.endsWith("\n\n1. e4 1/2-1/2\n\n"));
+    }
+
+    @Test
+    void exportIncludesArchivedGames() throws IOException {
+        gameArchive.write(YearMonth.of(2020, 1), List.of(new ArchivedGame(1_000_000, Instant.parse("2020-01-02T00:00:00Z"),
+                "1", "1", "2", GameType.FRIEND, 60, 0, GameOutcome.BLACK,
+                MoveCodec.encodeMoves(List.of("d2d4")), null, null)));
+        create("1", "2", GameOutcome.WHITE, List.of(), null);
+
+        String pgn = body(gameController.exportByUsername("1", Map.of("order", "asc")));
+
+        assertEquals(2, pgn.split("\\[Event ").length - 1);
+        assertTrue(pgn.contains("[Date \"2020.01.02\"]"));
+        assertTrue(pgn.contains("1. d4 0-1"));
+    }
+
+    @Test
+    void exportOfUnknownUserIsEmpty() throws IOException {
+        create("1", "2", GameOutcome.DRAW, List.of(), null);
+
+        assertEquals("", body(gameController.exportByUsername("nobody", Map.of())));
+    }
+
+    @Test
+    void exportWithInvalidSearchIsRejectedBeforeStreaming() {
+        ResponseStatusException all = assertThrows(ResponseStatusException.class, () -> gameController.exportAll(Map.of("order", "sideways")));
+        assertEquals(HttpStatus.BAD_REQUEST, all.getStatus());
+        ResponseStatusException byUsername = assertThrows(ResponseStatusException.class, () -> gameController.exportByUsername("1", Map.of("gameType", "blitz")));
+        assertEquals(HttpStatus.BAD_REQUEST, byUsername.getStatus());
+    }
+}
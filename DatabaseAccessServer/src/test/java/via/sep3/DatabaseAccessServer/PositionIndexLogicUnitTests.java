@@ -0,0 +1,130 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.Logic.GameLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.application.Logic.PositionIndexLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.application.Logic.UserStatsLogicImpl;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.PositionIndexLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.PositionStatsDto;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class PositionIndexLogicUnitTests {
+    private static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    private static final String AFTER_E4_E5 = "rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2";
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private GamePositionRepository gamePositionRepository;
+
+    private GameLogic gameLogic;
+    private PositionIndexLogic positionIndexLogic;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @BeforeEach
+    void init() {
+        GameArchive gameArchive = new GameArchive(archiveDirectory, 16);
+        UserCache userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        positionIndexLogic = new PositionIndexLogicImpl(gamePositionRepository, gameRepository, gameArchive);
+        gameLogic = new GameLogicImpl(gameRepository, gameArchive, userCache, new UserStatsLogicImpl(userStatsRepository, gameRepository, gameArchive, userCache, new Leaderboard(userStatsRepository)), positionIndexLogic, new GameFeed(16));
+        userRepository.save(new User("1", "1", "1", "1"));
+        userRepository.save(new User("2", "2", "2", "2"));
+    }
+
+    private static GameCreationDto game(GameOutcome outcome, String... moves) {
+        GameCreationDto dto = new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, outcome);
+        dto.setMoves(List.of(moves));
+        return dto;
+    }
+
+    @Test
+    void searchCountsOutcomesOfGamesThatReachedThePosition() {
+        Game first = gameLogic.create(game(GameOutcome.WHITE, "e2e4", "e7e5", "g1f3"));
+        gameLogic.createAll(List.of(game(GameOutcome.DRAW, "e2e4", "e7e5"), game(GameOutcome.BLACK, "d2d4", "d7d5")));
+        gameLogic.create(new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, GameOutcome.WHITE));
+
+        PositionStatsDto start = positionIndexLogic.search(START, 20);
+        assertEquals(3, start.getGames());
+
+        PositionStatsDto afterE4E5 = positionIndexLogic.search(AFTER_E4_E5, 20);
+        assertEquals(2, afterE4E5.getGames());
+        assertEquals(1, afterE4E5.getWhiteWins());
+        assertEquals(0, afterE4E5.getBlackWins());
+        assertEquals(1, afterE4E5.getDraws());
+        assertEquals(2, afterE4E5.getGameIds().size());
+        assertTrue(afterE4E5.getGameIds().contains(first.getGameId()));
+    }
+
+    @Test
+    void gameReturningToAPositionIsCountedOnce() {
+        gameLogic.create(game(GameOutcome.DRAW, "g1f3", "g8f6", "f3g1", "f6g8"));
+        assertEquals(1, positionIndexLogic.search(START, 20).getGames());
+    }
+
+    @Test
+    void searchWithoutMatchesReturnsNoGames() {
+        PositionStatsDto stats = positionIndexLogic.search(AFTER_E4_E5, 20);
+        assertEquals(0, stats.getGames());
+        assertTrue(stats.getGameIds().isEmpty());
+    }
+
+    @Test
+    void searchLimitsGameIds() {
+        for (int i = 0; i < 3; i++) {
+            gameLogic.create(game(GameOutcome.WHITE, "e2e4"));
+        }
+        PositionStatsDto stats = positionIndexLogic.search(START, 2);
+        assertEquals(3, stats.getGames());
+        assertEquals(2, stats.getGameIds().size());
+    }
+
+    @Test
+    void searchWithInvalidInputThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> positionIndexLogic.search("not a fen", 20));
+        assertThrows(IllegalArgumentException.class, () -> positionIndexLogic.search(START, 0));
+        assertThrows(IllegalArgumentException.class, () -> positionIndexLogic.search(START, 101));
+    }
+
+    @Test
+    void rebuildIndexesStoredGames() {
+        gameLogic.create(game(GameOutcome.WHITE, "e2e4", "e7e5"));
+        gameLogic.create(game(GameOutcome.BLACK, "e2e4", "e7e5"));
+        gamePositionRepository.deleteAllPositions();
+        assertEquals(0, positionIndexLogic.search(AFTER_E4_E5, 20).getGames());
+
+        positionIndexLogic.rebuild();
+        PositionStatsDto stats = positionIndexLogic.search(AFTER_E4_E5, 20);
+        assertEquals(2, stats.getGames());
+        assertEquals(1, stats.getBlackWins());
+    }
+}
@@ -0,0 +1,108 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.Test;
+import via.sep3.DatabaseAccessServer.domain.MoveCodec;
+import via.sep3.DatabaseAccessServer.domain.Position;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionUnitTests {
+
+    private static Position play(String... moves) {
+        Position position = Position.initial();
+        for (String move : moves) {
+            position.play(MoveCodec.encodeMove(move));
+        }
+        return position;
+    }
+
+    private static long hash(String fen) {
+        return Position.fromFen(fen).hash();
+    }
+
+    @Test
+    void initialPositionHashesLikeItsFen() {
+        assertEquals(hash("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"), Position.initial().hash());
+    }
+
+    @Test
+    void transposedMoveOrdersReachTheSameHash() {
+        assertEquals(play("g1f3", "g8f6", "b1c3", "b8c6").hash(), play("b1c3", "b8c6", "g1f3", "g8f6").hash());
+        assertNotEquals(play("g1f3", "g8f6").hash(), play("g1f3", "g8f6", "f3g1", "f6g8", "g1f3").hash());
+    }
+
+    @Test
+    void enPassantSquareOnlyCountsWhenACaptureIsPossible() {
+        Position afterE4 = play("e2e4");
+        assertEquals(hash("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"), afterE4.hash());
+        assertEquals(hash("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1"), afterE4.hash());
+
+        Position afterD5 = play("e2e4", "a7a6", "e4e5", "d7d5");
+        assertEquals(hash("rnbqkbnr/1pp1pppp/p7/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 3"), afterD5.hash());
+        assertNotEquals(hash("rnbqkbnr/1pp1pppp/p7/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3"), afterD5.hash());
+    }
+
+    @Test
+    void enPassantCaptureRemovesThePawn() {
+        Position position = play("e2e4", "a7a6", "e4e5", "d7d5", "e5d6");
+        assertEquals(hash("rnbqkbnr/1pp1pppp/p2P4/8/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 3"), position.hash());
+    }
+
+    @Test
+    void castlingMovesTheRookAndDropsTheRights() {
+        Position position = play("e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6", "e1g1");
+        assertEquals(hash("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQ1RK1 b kq - 5 4"), position.hash());
+    }
+
+    @Test
+    void promotionPlacesThePromotedPiece() {
+        Position position = Position.fromFen("8/P6k/8/8/8/8/8/K7 w - - 0 1");
+        position.play(MoveCodec.encodeMove("a7a8n"));
+        assertEquals(hash("N7/7k/8/8/8/8/8/K7 b - - 0 1"), position.hash());
+    }
+
+    private static String san(Position position, String... moves) {
+        StringBuilder san = new StringBuilder();
+        for (String move : moves) {
+            san.append(san.length() == 0 ? "" : " ").append(position.playSan(MoveCodec.encodeMove(move)));
+        }
+        return san.toString();
+    }
+
+    @Test
+    void playSanWritesPieceMovesCapturesAndChecks() {
+        assertEquals("e4 e5 Nf3 Nc6 Bb5 a6 Bxc6 dxc6", san(Position.initial(), "e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6", "b5c6", "d7c6"));
+        assertEquals("f3 e5 g4 Qh4+", san(Position.initial(), "f2f3", "e7e5", "g2g4", "d8h4"));
+    }
+
+    @Test
+    void playSanWritesCastlingAndPromotions() {
+        assertEquals("O-O", san(Position.fromFen("4k3/8/8/8/8/8/8/4K2R w K - 0 1"), "e1g1"));
+        assertEquals("O-O-O", san(Position.fromFen("r3k3/8/8/8/8/8/8/4K3 b q - 0 1"), "e8c8"));
+        assertEquals("a8=Q+", san(Position.fromFen("7k/P7/8/8/8/8/8/K7 w - - 0 1"), "a7a8q"));
+        assertEquals("bxa8=N", san(Position.fromFen("r7/1P5k/8/8/8/8/8/K7 w - - 0 1"), "b7a8n"));
+        assertEquals("exd6", san(Position.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1"), "e5d6"));
+    }
+
+    @Test
+    void playSanDisambiguatesByFileThenRank() {
+        assertEquals("Nbd2", san(Position.fromFen("4k3/8/8/8/8/5N2/8/1N2K3 w - - 0 1"), "b1d2"));
+        assertEquals("R1a3", san(Position.fromFen("4k3/R7/8/8/8/8/8/R3K3 w - - 0 1"), "a1a3"));
+        assertEquals("Qh4e1", san(Position.fromFen("1k6/8/8/8/4Q2Q/8/8/K6Q w - - 0 1"), "h4e1"));
+    }
+
+    @Test
+    void movingFromAnEmptySquareThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> play("e3e4"));
+        assertThrows(IllegalArgumentException.class, () -> play("e7e5"));
+    }
+
+    @Test
+    void invalidFenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> Position.fromFen(null));
+        assertThrows(IllegalArgumentException.class, () -> Position.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq -"));
+        assertThrows(IllegalArgumentException.class, () -> Position.fromFen("rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -"));
+        assertThrows(IllegalArgumentException.class, () -> Position.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq -"));
+        assertThrows(IllegalArgumentException.class, () -> Position.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e4"));
+    }
+}
@@ -0,0 +1,92 @@
+package via.sep3.DatabaseAccessServer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import via.sep3.DatabaseAccessServer.config.QueryCountInterceptor;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DataJpaTest
+public class QueryCountUnitTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new CountingController(userRepository))
+                .addInterceptors(new QueryCountInterceptor(meterRegistry))
+                .build();
+    }
+
+    @RestController
+    static class CountingController {
+        private final UserRepository userRepository;
+
+        CountingController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @GetMapping("/count")
+        long count() {
+            userRepository.count();
+            return userRepository.count();
+        }
+
+        @GetMapping("/count/stream")
+        StreamingResponseBody streamCount() {
+            return outputStream -> {
+                userRepository.count();
+                outputStream.write(String.valueOf(userRepository.count()).getBytes(StandardCharsets.UTF_8));
+            };
+        }
+    }
+
+    private DistributionSummary queries(String uri) {
+        return meterRegistry.get("http.server.requests.queries").tag("uri", uri).summary();
+    }
+
+    @Test
+    void queriesOfRequestAreRecorded() throws Exception {
+        mockMvc.perform(get("/count")).andExpect(status().isOk());
+
+        assertEquals(1, queries("/count").count());
+        assertEquals(2, queries("/count").totalAmount());
+    }
+
+    @Test
+    void queriesOfStreamedBodyAreRecordedOnceAfterTheAsyncDispatch() throws Exception {
+        // The body runs on another thread, which needs the one connection the test transaction holds
+        TestTransaction.end();
+        MvcResult result = mockMvc.perform(get("/count/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(meterRegistry.find("http.server.requests.queries").summaries().isEmpty());
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertEquals(1, queries("/count/stream").count());
+        assertEquals(2, queries("/count/stream").totalAmount());
+    }
+}
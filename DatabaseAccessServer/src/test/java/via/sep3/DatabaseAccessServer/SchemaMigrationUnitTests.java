@@ -0,0 +1,136 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import via.sep3.DatabaseAccessServer.config.FlywayBaselineVersion;
+import via.sep3.DatabaseAccessServer.config.GameSequenceMigration;
+import via.sep3.DatabaseAccessServer.config.UserIdInitializer;
+import via.sep3.DatabaseAccessServer.config.UserIdMigration;
+import via.sep3.DatabaseAccessServer.domain.Game;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hibernate only validates here, so the entities have to match what the migrations create
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.url=${spring.datasource.url}",
+        "spring.flyway.user=sa"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GameSequenceMigration.class, UserIdMigration.class})
+public class SchemaMigrationUnitTests {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Test
+    void migrationsAreAppliedInOrder() {
+        assertEquals("5", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void entitiesAreStoredInTheMigratedSchema() {
+        User white = userRepository.save(new User("1", "1", "1", "1"));
+        User black = userRepository.save(new User("2", "2", "2", "2"));
+
+        Game game = gameRepository.save(new Game(white, white, black, GameType.RANDOM, 60, 0, GameOutcome.DRAW));
+
+        assertTrue(gameRepository.findByGameId(game.getGameId()).isPresent());
+    }
+
+    @Test
+    void gamesStoredWithEmailKeysReferenceTheSameUsersById() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:email-keys;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate(dataSource, "3");
+        jdbcTemplate.update("insert into users (email, username, email_lower, username_lower) values ('w@x', 'white', 'w@x', 'white'), ('b@x', 'black', 'b@x', 'black')");
+        jdbcTemplate.update("insert into games (game_id, creator, player_white, player_black, time_control_duration_seconds, time_control_increment_seconds) "
+                + "values (1, 'w@x', 'w@x', 'b@x', 60, 0)");
+
+        migrate(dataSource, "4");
+
+        assertEquals("black", jdbcTemplate.queryForObject("select u.username from games g join users u on u.user_id = g.player_black_id where g.game_id = 1", String.class));
+        assertEquals("white", jdbcTemplate.queryForObject("select u.username from games g join users u on u.user_id = g.creator_id where g.game_id = 1", String.class));
+        // The next block Hibernate takes starts after the numbered users
+        assertEquals(52, jdbcTemplate.queryForObject("select nextval('users_seq')", Integer.class));
+    }
+
+    @Test
+    void initializerMovesDatabaseKeyedByEmailOnce() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:initializer;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate(dataSource, "3");
+        jdbcTemplate.update("insert into users (email, username, email_lower, username_lower) values ('w@x', 'white', 'w@x', 'white'), ('b@x', 'black', 'b@x', 'black')");
+        jdbcTemplate.update("insert into games (game_id, creator, player_white, player_black, time_control_duration_seconds, time_control_increment_seconds) "
+                + "values (1, 'w@x', 'w@x', 'b@x', 60, 0)");
+
+        UserIdInitializer initializer = new UserIdInitializer(jdbcTemplate);
+        initializer.migrateEmailKeys();
+        initializer.migrateEmailKeys();
+
+        assertEquals("black", jdbcTemplate.queryForObject("select u.username from games g join users u on u.user_id = g.player_black_id where g.game_id = 1", String.class));
+    }
+
+    @Test
+    void databaseThatHibernateCreatedIsTakenOverAtTheVersionOfItsSchema() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:hibernate-created;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        migrate(dataSource, "3");
+        // Hibernate has added the lower-cased columns and their constraints, but there is no history
+        new JdbcTemplate(dataSource).execute("drop table flyway_schema_history");
+
+        FluentConfiguration configuration = configure(dataSource).baselineOnMigrate(true).baselineVersion("1").target("3");
+        new FlywayBaselineVersion().customize(configuration);
+        Flyway flyway = configuration.load();
+        flyway.migrate();
+
+        assertEquals("3", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void databaseThatHibernateKeyedByUserIdIsNotMigratedAgain() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:hibernate-keyed;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        migrate(dataSource, "4");
+        new JdbcTemplate(dataSource).execute("drop table flyway_schema_history");
+
+        FluentConfiguration configuration = configure(dataSource).baselineOnMigrate(true).baselineVersion("1");
+        new FlywayBaselineVersion().customize(configuration);
+        Flyway flyway = configuration.load();
+        flyway.migrate();
+
+        assertEquals("5", flyway.info().current().getVersion().getVersion());
+    }
+
+    private static void migrate(DataSource dataSource, String target) {
+        configure(dataSource).target(target).load().migrate();
+    }
+
+    private static FluentConfiguration configure(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .javaMigrations(new GameSequenceMigration(), new UserIdMigration());
+    }
+}
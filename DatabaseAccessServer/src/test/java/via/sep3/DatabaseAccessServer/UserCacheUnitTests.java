@@ -0,0 +1,84 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class UserCacheUnitTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    private UserCache userCache;
+
+    @BeforeEach
+    void init() {
+        userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        userRepository.save(new User("Email@Test", "username", "password", "admin"));
+    }
+
+    @Test
+    void secondLookupByUsernameIsServedFromCache() {
+        userCache.findByUsername("username");
+        userCache.findByUsername("username");
+        assertEquals(1, userCache.usernameStats().missCount());
+        assertEquals(1, userCache.usernameStats().hitCount());
+    }
+
+    @Test
+    void lookupByEmailIgnoresCase() {
+        assertTrue(userCache.findByEmail("email@test").isPresent());
+        Optional<User> found = userCache.findByEmail("EMAIL@TEST");
+        assertTrue(found.isPresent());
+        assertEquals("username", found.get().getUsername());
+        assertEquals(1, userCache.emailStats().hitCount());
+    }
+
+    @Test
+    void lookupByEmailIgnoresDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        // Lower-cases the I of EMAIL to a dotless one
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertTrue(userCache.findByEmail("email@test").isPresent());
+            assertTrue(userCache.containsEmail("EMAIL@TEST"));
+            assertTrue(userCache.findByEmail("EMAIL@TEST").isPresent());
+            assertEquals(2, userCache.emailStats().hitCount());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void changingReturnedUserDoesNotChangeCachedUser() {
+        userCache.findByUsername("username").get().setPassword("changed");
+        assertEquals("password", userCache.findByUsername("username").get().getPassword());
+    }
+
+    @Test
+    void putMakesUserAvailableByUsernameAndEmail() {
+        userCache.put(new User("other@test", "other", "password", "admin"));
+        assertTrue(userCache.findByUsername("other").isPresent());
+        assertTrue(userCache.findByEmail("OTHER@test").isPresent());
+        assertEquals(0, userCache.usernameStats().missCount());
+    }
+
+    @Test
+    void findByUsernamesReturnsOnlyExistingUsers() {
+        Map<String, User> found = userCache.findByUsernames(List.of("username", "nonExistent"));
+        assertEquals(1, found.size());
+        assertTrue(found.containsKey("username"));
+    }
+}
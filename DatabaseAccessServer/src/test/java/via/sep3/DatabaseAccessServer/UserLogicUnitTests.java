@@ -1,16 +1,27 @@
 package via.sep3.DatabaseAccessServer;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.transaction.TestTransaction;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
 import via.sep3.DatabaseAccessServer.application.Logic.UserLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UsernameIndex;
 import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserLogic;
 import via.sep3.DatabaseAccessServer.domain.DTOs.UserLoginDto;
+import via.sep3.DatabaseAccessServer.domain.DTOs.UserSearchResultDto;
 import via.sep3.DatabaseAccessServer.domain.User;
 import via.sep3.DatabaseAccessServer.repository.UserRepository;
 
 
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,14 +31,40 @@ public class UserLogicUnitTests {
 
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
     private UserLogic userLogic;
     User user;
 
     @BeforeEach
     void init() {
-        userLogic = new UserLogicImpl(userRepository);
+        UsernameIndex usernameIndex = new UsernameIndex(userRepository);
+        usernameIndex.rebuild();
+        userLogic = new UserLogicImpl(userRepository, new UserCache(userRepository, 100, Duration.ofMinutes(1)), usernameIndex, entityManager);
         user = new User("email", "username", "password", "admin");
         userLogic.create(user);
+        commit();
+    }
+
+    // The cache and the username index only learn about users once they are committed
+    @AfterEach
+    void deleteCommittedUsers() {
+        // In a new transaction, a failed insert leaves the one of the test rollback-only
+        TestTransaction.end();
+        TestTransaction.start();
+        userRepository.deleteAll();
+        TestTransaction.flagForCommit();
+    }
+
+    private static void commit() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+
+    // A logic with an empty cache, so that only the database knows the user from init
+    private UserLogic uncachedUserLogic() {
+        return new UserLogicImpl(userRepository, new UserCache(userRepository, 100, Duration.ofMinutes(1)), new UsernameIndex(userRepository), entityManager);
     }
 
     //Create
@@ -55,6 +92,68 @@ public class UserLogicUnitTests {
         assertEquals(user, createdUser);
     }
 
+    @Test
+    void creatingUserWithEmailDifferingInCaseThrowsIllegalArgumentException() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> uncachedUserLogic().create(new User("EMAIL", "newUsername", "password", "admin")));
+        assertEquals("This email is already in use", e.getMessage());
+    }
+
+    @Test
+    void creatingUserWithUsernameDifferingInCaseThrowsIllegalArgumentException() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> uncachedUserLogic().create(new User("newEmail", "USERNAME", "password", "admin")));
+        assertEquals("This username is already in use", e.getMessage());
+    }
+
+    @Test
+    void userOfRolledBackTransactionIsNotCached() {
+        userLogic.create(new User("email2", "username2", "password", "admin"));
+        TestTransaction.end();
+        TestTransaction.start();
+
+        assertTrue(userLogic.getByUsername("username2").isEmpty());
+        assertTrue(userLogic.search("username2", 10).isEmpty());
+        assertDoesNotThrow(() -> userLogic.create(new User("email2", "username2", "password", "admin")));
+    }
+
+    //Create all
+    @Test
+    void createAllCreatesEveryUser() {
+        List<User> created = userLogic.createAll(List.of(
+                new User("email2", "username2", "password", "admin"),
+                new User("email3", "username3", "password", "admin")));
+        assertEquals(2, created.size());
+        assertTrue(userLogic.getByUsername("username3").isPresent());
+        assertTrue(userRepository.findByEmailLower("email2").isPresent());
+    }
+
+    @Test
+    void createAllWithDuplicateInBatchThrowsIllegalArgumentException() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> userLogic.createAll(List.of(
+                new User("email2", "username2", "password", "admin"),
+                new User("email3", "Username2", "password", "admin"))));
+        assertEquals("User 1: This username is already in use", e.getMessage());
+    }
+
+    @Test
+    void createAllWithExistingEmailThrowsIllegalArgumentException() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> userLogic.createAll(List.of(
+                new User("email2", "username2", "password", "admin"),
+                new User("Email", "username3", "password", "admin"))));
+        assertEquals("User 1: This email is already in use", e.getMessage());
+        assertTrue(userRepository.findByEmailLower("email2").isEmpty());
+    }
+
+    @Test
+    void createAllWithTooManyUsersThrowsIllegalArgumentException() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i <= 1000; i++) {
+            users.add(new User("email" + i + "x", "username" + i + "x", "password", "admin"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> userLogic.createAll(users));
+    }
+
     //Login
     @Test
     void loggingInWithIncorrectCredentialsThrowsIllegalArgumentExceptions() {
@@ -87,4 +186,75 @@ public class UserLogicUnitTests {
         Optional<User> found = userLogic.getByUsername("wrongUsername");
         assertFalse(found.isPresent());
     }
+
+    //Get all
+    @Test
+    void getAllReturnsUsersAfterGivenEmail() {
+        userLogic.create(new User("email2", "username2", "password", "admin"));
+        List<User> page = new ArrayList<>();
+        userLogic.getAll(Map.of("after", "email", "limit", "10")).forEach(page::add);
+        assertEquals(1, page.size());
+        assertEquals("email2", page.get(0).getEmail());
+    }
+
+    @Test
+    void streamAllVisitsMatchingUsers() {
+        userLogic.create(new User("email2", "other", "password", "admin"));
+        List<User> streamed = new ArrayList<>();
+        userLogic.streamAll(Map.of("username", "user"), streamed::add);
+        assertEquals(1, streamed.size());
+        assertEquals("username", streamed.get(0).getUsername());
+    }
+
+    //Search
+    @Test
+    void searchRanksExactThenPrefixThenSubstringMatches() {
+        userLogic.create(new User("email2", "Magnus", "password", "admin"));
+        userLogic.create(new User("email3", "magnusCarlsen", "password", "admin"));
+        userLogic.create(new User("email4", "theMagnus", "password", "admin"));
+        userLogic.create(new User("email5", "hikaru", "password", "admin"));
+        commit();
+        List<String> found = userLogic.search("magnus", 10).stream().map(UserSearchResultDto::getUsername).toList();
+        assertEquals(List.of("Magnus", "magnusCarlsen", "theMagnus"), found);
+    }
+
+    @Test
+    void searchReturnsAtMostLimitResults() {
+        userLogic.create(new User("email2", "username2", "password", "admin"));
+        userLogic.create(new User("email3", "username3", "password", "admin"));
+        commit();
+        assertEquals(2, userLogic.search("user", 2).size());
+    }
+
+    @Test
+    void searchFindsUsersThatExistedBeforeIndexWasBuilt() {
+        // Saved around the logic, so only the rebuild can put it in the index
+        userRepository.save(new User("email2", "preexisting", "password", "admin"));
+        UsernameIndex usernameIndex = new UsernameIndex(userRepository);
+        usernameIndex.rebuild();
+        UserLogic rebuilt = new UserLogicImpl(userRepository, new UserCache(userRepository, 100, Duration.ofMinutes(1)), usernameIndex, entityManager);
+
+        assertEquals("preexisting", rebuilt.search("EXIST", 10).get(0).getUsername());
+        assertTrue(userLogic.search("EXIST", 10).isEmpty());
+    }
+
+    @Test
+    void searchIgnoresDefaultLocale() {
+        userLogic.create(new User("email2", "Ivan", "password", "admin"));
+        commit();
+        Locale defaultLocale = Locale.getDefault();
+        // Lower-cases the I of IVAN to a dotless one
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertEquals("Ivan", userLogic.search("IVAN", 10).get(0).getUsername());
+            assertEquals("Ivan", userLogic.search("van", 10).get(0).getUsername());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void searchWithEmptyQueryThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> userLogic.search(" ", 10));
+    }
 }
@@ -0,0 +1,146 @@
+package via.sep3.DatabaseAccessServer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import via.sep3.DatabaseAccessServer.application.Logic.GameFeed;
+import via.sep3.DatabaseAccessServer.application.Logic.GameLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.Leaderboard;
+import via.sep3.DatabaseAccessServer.application.Logic.UserCache;
+import via.sep3.DatabaseAccessServer.application.Logic.PositionIndexLogicImpl;
+import via.sep3.DatabaseAccessServer.application.Logic.UserStatsLogicImpl;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.GameLogic;
+import via.sep3.DatabaseAccessServer.application.LogicInterfaces.UserStatsLogic;
+import via.sep3.DatabaseAccessServer.domain.DTOs.GameCreationDto;
+import via.sep3.DatabaseAccessServer.domain.User;
+import via.sep3.DatabaseAccessServer.domain.UserStats;
+import via.sep3.DatabaseAccessServer.domain.enums.GameOutcome;
+import via.sep3.DatabaseAccessServer.domain.enums.GameType;
+import via.sep3.DatabaseAccessServer.repository.GameArchive;
+import via.sep3.DatabaseAccessServer.repository.GamePositionRepository;
+import via.sep3.DatabaseAccessServer.repository.GameRepository;
+import via.sep3.DatabaseAccessServer.repository.UserRepository;
+import via.sep3.DatabaseAccessServer.repository.UserStatsRepository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class UserStatsLogicUnitTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+    @Autowired
+    private GamePositionRepository gamePositionRepository;
+
+    private GameLogic gameLogic;
+    private UserStatsLogic userStatsLogic;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @BeforeEach
+    void init() {
+        GameArchive gameArchive = new GameArchive(archiveDirectory, 16);
+        UserCache userCache = new UserCache(userRepository, 100, Duration.ofMinutes(1));
+        userStatsLogic = new UserStatsLogicImpl(userStatsRepository, gameRepository, gameArchive, userCache, new Leaderboard(userStatsRepository));
+        gameLogic = new GameLogicImpl(gameRepository, gameArchive, userCache, userStatsLogic, new PositionIndexLogicImpl(gamePositionRepository, gameRepository, gameArchive), new GameFeed(16));
+        userRepository.save(new User("1", "1", "1", "1"));
+        userRepository.save(new User("2", "2", "2", "2"));
+        userRepository.save(new User("3", "3", "3", "3"));
+    }
+
+    @Test
+    void statsAreUpdatedWhenGamesAreCreated() {
+        gameLogic.create(new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, GameOutcome.WHITE));
+        gameLogic.create(new GameCreationDto("2", "2", "1", GameType.FRIEND, 60, 5, GameOutcome.WHITE));
+        gameLogic.createAll(List.of(new GameCreationDto("1", "1", "2", GameType.AI, 60, 5, GameOutcome.DRAW)));
+
+        UserStats stats = userStatsLogic.getByUsername("1").orElseThrow();
+        assertEquals(3, stats.getGamesPlayed());
+        assertEquals(1, stats.getWins());
+        assertEquals(1, stats.getLosses());
+        assertEquals(1, stats.getDraws());
+        assertEquals(2, stats.getGamesAsWhite());
+        assertEquals(1, stats.getGamesAsBlack());
+        assertEquals(1, stats.getAiGames());
+        assertEquals(1, stats.getFriendGames());
+        assertEquals(1, stats.getRandomGames());
+    }
+
+    @Test
+    void statsOfUserWithoutGamesAreZero() {
+        UserStats stats = userStatsLogic.getByUsername("3").orElseThrow();
+        assertEquals(0, stats.getGamesPlayed());
+    }
+
+    @Test
+    void statsOfNonExistentUserAreEmpty() {
+        assertTrue(userStatsLogic.getByUsername("nonExistent").isEmpty());
+    }
+
+    @Test
+    void rebuildMatchesIncrementalStats() {
+        gameLogic.createAll(List.of(
+                new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, GameOutcome.WHITE),
+                new GameCreationDto("2", "2", "1", GameType.RANDOM, 60, 5, GameOutcome.BLACK),
+                new GameCreationDto("3", "3", "2", GameType.AI, 60, 5, GameOutcome.DRAW)));
+        UserStats before = userStatsLogic.getByUsername("2").orElseThrow();
+
+        userStatsLogic.rebuild();
+
+        UserStats after = userStatsLogic.getByUsername("2").orElseThrow();
+        assertEquals(3, after.getGamesPlayed());
+        assertEquals(before.getWins(), after.getWins());
+        assertEquals(before.getLosses(), after.getLosses());
+        assertEquals(before.getDraws(), after.getDraws());
+        assertEquals(before.getGamesAsWhite(), after.getGamesAsWhite());
+        assertEquals(before.getAiGames(), after.getAiGames());
+        assertEquals(before.getRating(), after.getRating(), 1e-9);
+    }
+
+    @Test
+    void winnerGainsWhatLoserLoses() {
+        gameLogic.create(new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, GameOutcome.WHITE));
+
+        double winner = userStatsLogic.getByUsername("1").orElseThrow().getRating();
+        double loser = userStatsLogic.getByUsername("2").orElseThrow().getRating();
+        assertEquals(1516, winner, 1e-9);
+        assertEquals(1484, loser, 1e-9);
+    }
+
+    @Test
+    void statsInsertedMeanwhileAreAddedTo() {
+        // Like a concurrent first game of player 2 that committed before this one inserted its row
+        userStatsRepository.insertIfMissing("2");
+        userStatsRepository.insertIfMissing("2");
+
+        gameLogic.create(new GameCreationDto("1", "1", "2", GameType.RANDOM, 60, 5, GameOutcome.WHITE));
+
+        UserStats stats = userStatsLogic.getByUsername("2").orElseThrow();
+        assertEquals(1, stats.getGamesPlayed());
+        assertEquals(1484, stats.getRating(), 1e-9);
+    }
+
+    @Test
+    void gamesAgainstYourselfAreNotRated() {
+        gameLogic.create(new GameCreationDto("1", "1", "1", GameType.FRIEND, 60, 5, GameOutcome.WHITE));
+
+        assertEquals(1500, userStatsLogic.getByUsername("1").orElseThrow().getRating(), 1e-9);
+    }
+
+    @Test
+    void leaderboardWithInvalidLimitThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> userStatsLogic.getLeaderboard(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> userStatsLogic.getLeaderboard(-1, 10));
+    }
+}